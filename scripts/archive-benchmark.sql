@@ -0,0 +1,74 @@
+-- ===============================
+-- Benchmark do arquivamento de licenças — PostgreSQL
+-- ===============================
+-- Mede a busca por chave e o tempo de VACUUM da tabela licenses antes e depois de mover as licenças
+-- EXPIRED/REVOKED antigas para licenses_archive (mesmo SQL usado pelo LicenseArchivalService).
+-- Rodar em um banco DESCARTÁVEL, com o schema criado pela aplicação:
+--   psql -d licensing_bench -v rows=3000000 -f scripts/archive-benchmark.sql
+\timing on
+\set ON_ERROR_STOP on
+
+-- --- Massa de dados: ~43% das licenças ficam EXPIRED/REVOKED com expiração antiga ---
+TRUNCATE license_features_archive, licenses_archive, license_features, licenses, products RESTART IDENTITY CASCADE;
+
+INSERT INTO products (name, description)
+SELECT 'Produto' || p, 'Produto de benchmark ' || p FROM generate_series(1, 20) AS p;
+
+INSERT INTO licenses (license_key, product_id, licensed_to, issue_date, expiration_date, status, max_users, hardware_id)
+SELECT 'BENCH-' || lpad(i::text, 12, '0'),
+       1 + (i % 20),
+       'Cliente ' || md5(i::text),
+       now() - interval '4 years',
+       CASE WHEN i % 7 IN (3, 4, 5) THEN now() - interval '2 years' ELSE now() + interval '1 year' END,
+       CASE WHEN i % 7 IN (3, 4) THEN 'EXPIRED' WHEN i % 7 = 5 THEN 'REVOKED' ELSE 'ACTIVE' END,
+       10,
+       NULL
+FROM generate_series(1, :rows) AS i;
+
+INSERT INTO license_features (license_id, feature)
+SELECT id, f FROM licenses, unnest(ARRAY['RELATORIOS', 'INTEGRACAO_API']) AS f;
+
+ANALYZE licenses;
+ANALYZE license_features;
+
+\echo '=== ANTES do arquivamento ==='
+SELECT pg_size_pretty(pg_total_relation_size('licenses')) AS licenses_size,
+       pg_size_pretty(pg_total_relation_size('license_features')) AS features_size;
+EXPLAIN ANALYZE SELECT * FROM licenses WHERE license_key = 'BENCH-000001000001';
+EXPLAIN ANALYZE SELECT l.* FROM licenses l JOIN products p ON p.id = l.product_id
+    WHERE l.license_key = 'BENCH-000001000001' AND p.name = 'Produto2';
+VACUUM (ANALYZE) licenses;
+VACUUM (ANALYZE) license_features;
+
+\echo '=== Arquivamento (um lote com tudo, para medir o custo total) ==='
+BEGIN;
+CREATE TEMP TABLE archivable ON COMMIT DROP AS
+    SELECT id FROM licenses WHERE status IN ('EXPIRED', 'REVOKED') AND expiration_date < now() - interval '365 days';
+INSERT INTO licenses_archive (id, license_key, product_id, product_name, licensed_to, issue_date, expiration_date,
+                              status, max_users, hardware_id, activation_date, archived_at)
+SELECT l.id, l.license_key, l.product_id, p.name, l.licensed_to, l.issue_date, l.expiration_date, l.status,
+       l.max_users, l.hardware_id, l.activation_date, CURRENT_TIMESTAMP
+FROM licenses l JOIN products p ON p.id = l.product_id WHERE l.id IN (SELECT id FROM archivable);
+INSERT INTO license_features_archive (license_id, feature)
+SELECT license_id, feature FROM license_features WHERE license_id IN (SELECT id FROM archivable);
+DELETE FROM license_features WHERE license_id IN (SELECT id FROM archivable);
+DELETE FROM licenses WHERE id IN (SELECT id FROM archivable);
+COMMIT;
+
+-- O primeiro VACUUM após o arquivamento recolhe as linhas mortas; os seguintes mostram o custo em regime
+VACUUM (ANALYZE) licenses;
+VACUUM (ANALYZE) license_features;
+VACUUM FULL licenses;
+VACUUM FULL license_features;
+
+\echo '=== DEPOIS do arquivamento ==='
+SELECT pg_size_pretty(pg_total_relation_size('licenses')) AS licenses_size,
+       pg_size_pretty(pg_total_relation_size('license_features')) AS features_size;
+EXPLAIN ANALYZE SELECT * FROM licenses WHERE license_key = 'BENCH-000001000001';
+EXPLAIN ANALYZE SELECT l.* FROM licenses l JOIN products p ON p.id = l.product_id
+    WHERE l.license_key = 'BENCH-000001000001' AND p.name = 'Produto2';
+VACUUM (ANALYZE) licenses;
+VACUUM (ANALYZE) license_features;
+
+-- Fallback do getLicenseByKey para uma licença arquivada (i % 7 = 3)
+EXPLAIN ANALYZE SELECT * FROM licenses_archive WHERE license_key = 'BENCH-000000000003';
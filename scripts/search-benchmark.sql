@@ -0,0 +1,59 @@
+-- ===============================
+-- Benchmark da busca de licenças (GET /api/licenses/search) — PostgreSQL
+-- ===============================
+-- Gera uma massa de dados em um banco DESCARTÁVEL e mede as consultas geradas por
+-- LicenseSearchRepositoryImpl com EXPLAIN ANALYZE, antes e depois dos índices.
+--   createdb licensing_bench
+--   psql -d licensing_bench -v rows=3000000 -f scripts/search-benchmark.sql
+-- Requer o schema criado pela aplicação (subir uma vez com ddl-auto=update apontando para o banco).
+\timing on
+\set ON_ERROR_STOP on
+
+-- --- Massa de dados ---
+TRUNCATE license_features, licenses, products RESTART IDENTITY CASCADE;
+
+INSERT INTO products (name, description)
+SELECT 'Produto' || p, 'Produto de benchmark ' || p FROM generate_series(1, 20) AS p;
+
+INSERT INTO licenses (license_key, product_id, licensed_to, issue_date, expiration_date, status, max_users, hardware_id)
+SELECT 'BENCH-' || lpad(i::text, 12, '0'),
+       1 + (i % 20),
+       (ARRAY['Acme', 'Beta', 'Cia', 'Delta', 'Empresa', 'Foco', 'Global', 'Horizonte'])[1 + (i % 8)] || ' ' || md5(i::text),
+       now() - (i % 720) * interval '1 day',
+       now() + ((i % 1460) - 365) * interval '1 day',
+       (ARRAY['ACTIVE', 'ACTIVE', 'ACTIVE', 'EXPIRED', 'REVOKED', 'PENDING_ACTIVATION', 'SUSPENDED'])[1 + (i % 7)],
+       10,
+       CASE WHEN i % 3 = 0 THEN 'HW-' || md5((i * 7)::text) END
+FROM generate_series(1, :rows) AS i;
+
+INSERT INTO license_features (license_id, feature)
+SELECT id, 'RELATORIOS' FROM licenses;
+
+ANALYZE licenses;
+ANALYZE license_features;
+
+-- --- Consultas (mesmo formato da busca: keyset por id, limit = size + 1) ---
+\echo '=== SEM os índices da busca ==='
+DROP INDEX IF EXISTS idx_licenses_licensed_to_prefix;
+DROP INDEX IF EXISTS idx_licenses_product_status_id;
+DROP INDEX IF EXISTS idx_licenses_hardware_id_id;
+DROP INDEX IF EXISTS idx_licenses_expiration_date;
+
+\set search_prefix 'SELECT l.id, l.license_key, p.name, l.licensed_to, l.status, l.expiration_date, l.hardware_id FROM licenses l JOIN products p ON p.id = l.product_id WHERE '
+
+EXPLAIN ANALYZE :search_prefix lower(l.licensed_to) LIKE 'horizonte a%' ORDER BY l.id LIMIT 51;
+EXPLAIN ANALYZE :search_prefix p.name = 'Produto7' AND l.status = 'SUSPENDED' AND l.id > 1500000 ORDER BY l.id LIMIT 51;
+EXPLAIN ANALYZE :search_prefix l.hardware_id = 'HW-' || md5('21') ORDER BY l.id LIMIT 51;
+EXPLAIN ANALYZE :search_prefix l.expiration_date BETWEEN now() AND now() + interval '7 days' AND l.status = 'ACTIVE' ORDER BY l.id LIMIT 51;
+
+\echo '=== COM os índices da busca ==='
+CREATE INDEX idx_licenses_product_status_id ON licenses (product_id, status, id);
+CREATE INDEX idx_licenses_hardware_id_id ON licenses (hardware_id, id);
+CREATE INDEX idx_licenses_expiration_date ON licenses (expiration_date);
+CREATE INDEX idx_licenses_licensed_to_prefix ON licenses (lower(licensed_to) text_pattern_ops);
+ANALYZE licenses;
+
+EXPLAIN ANALYZE :search_prefix lower(l.licensed_to) LIKE 'horizonte a%' ORDER BY l.id LIMIT 51;
+EXPLAIN ANALYZE :search_prefix p.name = 'Produto7' AND l.status = 'SUSPENDED' AND l.id > 1500000 ORDER BY l.id LIMIT 51;
+EXPLAIN ANALYZE :search_prefix l.hardware_id = 'HW-' || md5('21') ORDER BY l.id LIMIT 51;
+EXPLAIN ANALYZE :search_prefix l.expiration_date BETWEEN now() AND now() + interval '7 days' AND l.status = 'ACTIVE' ORDER BY l.id LIMIT 51;
@@ -0,0 +1,69 @@
+#!/usr/bin/env bash
+# ===============================
+# Benchmark de inicialização: mede o tempo entre o start do container e
+# o primeiro POST /api/licenses/validate com resposta 200.
+#
+# Uso:
+#   IMAGE=licensing:fast-startup LICENSE_KEY=ABC123XYZ789 PRODUCT_NAME=MeuSistema \
+#   ENV_FILE=.env.benchmark ./scripts/startup-benchmark.sh
+#
+# Variáveis:
+#   IMAGE         Imagem a medir (ex: build do Dockerfile ou do Dockerfile.fast-startup)
+#   LICENSE_KEY   Licença ACTIVE existente no banco apontado pelo ENV_FILE
+#   PRODUCT_NAME  Produto da licença
+#   HARDWARE_ID   Opcional, para licenças vinculadas a hardware
+#   ENV_FILE      Arquivo com POSTGRES_* (e demais variáveis) passado ao container
+#   AUTH          Opcional, credenciais "usuario:senha" para o curl
+#   RUNS          Número de execuções (padrão 5)
+#   PORT          Porta local (padrão 18080)
+# ===============================
+set -euo pipefail
+
+: "${IMAGE:?IMAGE é obrigatório}"
+: "${LICENSE_KEY:?LICENSE_KEY é obrigatório}"
+: "${PRODUCT_NAME:?PRODUCT_NAME é obrigatório}"
+: "${ENV_FILE:?ENV_FILE é obrigatório}"
+RUNS="${RUNS:-5}"
+PORT="${PORT:-18080}"
+TIMEOUT_SECONDS=120
+
+body=$(printf '{"licenseKey":"%s","productName":"%s","hardwareId":%s}' \
+  "$LICENSE_KEY" "$PRODUCT_NAME" "$( [ -n "${HARDWARE_ID:-}" ] && printf '"%s"' "$HARDWARE_ID" || printf 'null' )")
+
+curl_auth=()
+if [ -n "${AUTH:-}" ]; then
+  curl_auth=(-u "$AUTH")
+fi
+
+now_ms() { date +%s%3N; }
+
+total=0
+for run in $(seq 1 "$RUNS"); do
+  start=$(now_ms)
+  container=$(docker run -d --rm --env-file "$ENV_FILE" -p "$PORT:8080" "$IMAGE")
+  trap 'docker stop "$container" >/dev/null 2>&1 || true' EXIT
+
+  elapsed=-1
+  while [ $(( $(now_ms) - start )) -lt $(( TIMEOUT_SECONDS * 1000 )) ]; do
+    status=$(curl -s -o /dev/null -w '%{http_code}' "${curl_auth[@]}" \
+      -H 'Content-Type: application/json' -d "$body" \
+      "http://localhost:$PORT/api/licenses/validate" || true)
+    if [ "$status" = "200" ]; then
+      elapsed=$(( $(now_ms) - start ))
+      break
+    fi
+    sleep 0.05
+  done
+
+  docker stop "$container" >/dev/null 2>&1 || true
+  trap - EXIT
+
+  if [ "$elapsed" -lt 0 ]; then
+    echo "run $run: sem resposta 200 em ${TIMEOUT_SECONDS}s" >&2
+    exit 1
+  fi
+  echo "run $run: time-to-first-validate=${elapsed} ms"
+  total=$(( total + elapsed ))
+done
+
+echo "image=$IMAGE runs=$RUNS media=$(( total / RUNS )) ms"
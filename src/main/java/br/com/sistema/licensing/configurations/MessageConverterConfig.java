@@ -0,0 +1,32 @@
+package br.com.sistema.licensing.configurations;
+
+import java.util.List;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import br.com.sistema.licensing.converters.LicenseCborHttpMessageConverter;
+
+@Configuration
+public class MessageConverterConfig implements WebMvcConfigurer {
+
+    /**
+     * Registra o conversor CBOR logo depois do conversor JSON do Jackson. Com um Accept curinga
+     * ou sem Accept, o primeiro conversor da lista define o tipo da resposta, então os clientes
+     * existentes continuam recebendo JSON; CBOR só é usado com {@code Accept: application/cbor}.
+     * Demais tipos (erros, busca, estatísticas) seguem para o conversor CBOR genérico do Jackson,
+     * com nomes de campo em texto (ver Readme).
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        int position = converters.size();
+        for (int i = 0; i < converters.size(); i++) {
+            if (converters.get(i) instanceof MappingJackson2HttpMessageConverter) {
+                position = i + 1;
+            }
+        }
+        converters.add(position, new LicenseCborHttpMessageConverter());
+    }
+}
@@ -0,0 +1,9 @@
+package br.com.sistema.licensing.configurations;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling // Habilita as tarefas periódicas (@Scheduled), como a reconciliação das estatísticas
+public class SchedulingConfig {
+}
@@ -0,0 +1,42 @@
+package br.com.sistema.licensing.configurations;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.web.FilterChainProxy;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.context.AbstractSecurityWebApplicationInitializer;
+
+import br.com.sistema.licensing.controller.LicenseController;
+import br.com.sistema.licensing.services.LicenseArchivalService;
+
+@Configuration
+public class StartupConfig {
+
+    /**
+     * Com spring.main.lazy-initialization=true (perfil fast-startup), mantém o LicenseController
+     * sendo criado na inicialização. Isso puxa junto o LicenseService, os repositórios e o
+     * EntityManagerFactory, de modo que o primeiro /validate não paga o custo do boot do JPA.
+     *
+     * O LicenseArchivalService também fica de fora: ninguém depende dele e o @Scheduled só é
+     * registrado para beans criados, então com lazy init o arquivamento nunca rodaria.
+     */
+    @Bean
+    static LazyInitializationExcludeFilter hotPathExcludeFilter() {
+        return LazyInitializationExcludeFilter.forBeanTypes(LicenseController.class, LicenseArchivalService.class);
+    }
+
+    /**
+     * O DelegatingFilterProxy só resolve o springSecurityFilterChain no primeiro request; sem esta exclusão
+     * a montagem do Spring Security cairia no primeiro /validate. O bean é declarado como Filter, por isso
+     * a exclusão também é feita pelo nome.
+     */
+    @Bean
+    static LazyInitializationExcludeFilter securityFilterChainExcludeFilter() {
+        LazyInitializationExcludeFilter byType = LazyInitializationExcludeFilter.forBeanTypes(
+                FilterChainProxy.class, SecurityFilterChain.class);
+        return (beanName, beanDefinition, beanType) ->
+                AbstractSecurityWebApplicationInitializer.DEFAULT_FILTER_NAME.equals(beanName)
+                        || byType.isExcluded(beanName, beanDefinition, beanType);
+    }
+}
@@ -2,8 +2,14 @@ package br.com.sistema.licensing.controller;
 
 import br.com.sistema.licensing.dtos.LicenseRequest;
 import br.com.sistema.licensing.dtos.LicenseResponse;
+import br.com.sistema.licensing.dtos.LicenseSearchRequest;
+import br.com.sistema.licensing.dtos.LicenseSearchResponse;
+import br.com.sistema.licensing.dtos.LicenseStatisticsResponse;
 import br.com.sistema.licensing.dtos.LicenseValidationRequest;
+import br.com.sistema.licensing.dtos.ValidationCoalescingStats;
 import br.com.sistema.licensing.services.LicenseService;
+import br.com.sistema.licensing.services.LicenseStatisticsService;
+import br.com.sistema.licensing.services.LicenseValidationCoalescer;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -17,6 +23,8 @@ import java.util.List;
 public class LicenseController {
 
  private final LicenseService licenseService;
+ private final LicenseStatisticsService licenseStatisticsService;
+ private final LicenseValidationCoalescer licenseValidationCoalescer;
 
  // --- Endpoints para Gerenciamento de Licenças (para o administrador/painel) ---
 
@@ -26,6 +34,18 @@ public class LicenseController {
      return licenseService.createLicense(request);
  }
 
+ @GetMapping("/search")
+ @ResponseStatus(HttpStatus.OK)
+ public LicenseSearchResponse searchLicenses(@Valid LicenseSearchRequest request) {
+     return licenseService.searchLicenses(request);
+ }
+
+ @GetMapping("/statistics")
+ @ResponseStatus(HttpStatus.OK)
+ public LicenseStatisticsResponse getStatistics(@RequestParam(defaultValue = "12") int weeks) {
+     return licenseStatisticsService.getStatistics(weeks);
+ }
+
  @GetMapping("/{licenseKey}")
  @ResponseStatus(HttpStatus.OK)
  public LicenseResponse getLicenseByKey(@PathVariable String licenseKey) {
@@ -44,6 +64,12 @@ public class LicenseController {
      return licenseService.updateLicense(licenseKey, request);
  }
 
+ @PostMapping("/keys")
+ @ResponseStatus(HttpStatus.OK)
+ public List<String> generateLicenseKeys(@RequestParam String productName, @RequestParam(defaultValue = "1") int count) {
+     return licenseService.generateLicenseKeys(productName, count);
+ }
+
  @DeleteMapping("/{licenseKey}")
  @ResponseStatus(HttpStatus.NO_CONTENT)
  public void deleteLicense(@PathVariable String licenseKey) {
@@ -61,6 +87,12 @@ public class LicenseController {
  @PostMapping("/validate")
  @ResponseStatus(HttpStatus.OK)
  public LicenseResponse validateLicense(@Valid @RequestBody LicenseValidationRequest request) {
-     return licenseService.validateLicense(request);
+     return licenseValidationCoalescer.validate(request); // Validações idênticas simultâneas compartilham a mesma consulta
+ }
+
+ @GetMapping("/validate/coalescing")
+ @ResponseStatus(HttpStatus.OK)
+ public ValidationCoalescingStats getValidationCoalescingStats() {
+     return licenseValidationCoalescer.getStats();
  }
 }
@@ -2,6 +2,8 @@ package br.com.sistema.licensing.controller;
 
 import br.com.sistema.licensing.dtos.ProductRequest;
 import br.com.sistema.licensing.dtos.ProductResponse;
+import br.com.sistema.licensing.dtos.ProductRetirementStatus;
+import br.com.sistema.licensing.services.ProductRetirementService;
 import br.com.sistema.licensing.services.ProductService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -16,6 +18,7 @@ import java.util.List;
 public class ProductController {
 
  private final ProductService productService;
+ private final ProductRetirementService productRetirementService;
 
  @PostMapping
  @ResponseStatus(HttpStatus.CREATED)
@@ -46,4 +49,17 @@ public class ProductController {
  public void deleteProduct(@PathVariable Long id) {
      productService.deleteProduct(id);
  }
+
+ // Exclusão assíncrona em lotes, para produtos com muitas licenças
+ @PostMapping("/{id}/retirement")
+ @ResponseStatus(HttpStatus.ACCEPTED)
+ public ProductRetirementStatus retireProduct(@PathVariable Long id) {
+     return productRetirementService.retireProduct(id);
+ }
+
+ @GetMapping("/retirements/{jobId}")
+ @ResponseStatus(HttpStatus.OK)
+ public ProductRetirementStatus getRetirementStatus(@PathVariable String jobId) {
+     return productRetirementService.getStatus(jobId);
+ }
 }
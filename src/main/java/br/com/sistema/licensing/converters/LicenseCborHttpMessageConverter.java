@@ -0,0 +1,207 @@
+package br.com.sistema.licensing.converters;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.Map;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+
+import br.com.sistema.licensing.dtos.LicenseResponse;
+import br.com.sistema.licensing.model.LicenseStatus;
+
+/**
+ * Serializa {@link LicenseResponse} (e listas dele) em CBOR compacto quando o cliente
+ * envia {@code Accept: application/cbor}.
+ *
+ * Os campos são gravados com ids inteiros fixos (nunca reutilize ou renumere um id),
+ * as datas como segundos de época (UTC) e o status/mensagem como códigos pequenos.
+ * Campos nulos são omitidos. Não há cache dos bytes: montar a chave de um cache custa
+ * praticamente o mesmo que codificar a resposta, que é pequena.
+ */
+public class LicenseCborHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    // --- Ids de campo (estáveis) ---
+    public static final int FIELD_LICENSE_KEY = 0;
+    public static final int FIELD_PRODUCT_NAME = 1;
+    public static final int FIELD_LICENSED_TO = 2;
+    public static final int FIELD_ISSUE_DATE = 3;
+    public static final int FIELD_EXPIRATION_DATE = 4;
+    public static final int FIELD_STATUS = 5;
+    public static final int FIELD_ENABLED_FEATURES = 6;
+    public static final int FIELD_MAX_USERS = 7;
+    public static final int FIELD_HARDWARE_ID = 8;
+    public static final int FIELD_ACTIVATION_DATE = 9;
+    public static final int FIELD_MESSAGE_CODE = 10; // Mensagem conhecida, enviada como código
+    public static final int FIELD_MESSAGE_TEXT = 11; // Mensagem livre, enviada como texto
+
+    // Mensagens emitidas pelo LicenseService; qualquer outra vai como texto no campo 11.
+    // Apenas acrescente novas entradas no final, com o próximo código livre.
+    private static final Map<String, Integer> MESSAGE_CODES = Map.ofEntries(
+            Map.entry("License is valid and active.", 1),
+            Map.entry("License has expired.", 2),
+            Map.entry("License has been revoked.", 3),
+            Map.entry("License requires activation.", 4),
+            Map.entry("License is bound to a different hardware ID.", 5),
+            Map.entry("License activated successfully.", 6),
+            Map.entry("License is already active.", 7),
+            Map.entry("License re-activated on new hardware.", 8),
+            Map.entry("License retrieved successfully.", 9),
+            Map.entry("License created successfully.", 10),
+            Map.entry("License updated successfully.", 11),
+            Map.entry("License retrieved from archive.", 12)
+    );
+
+    private final CBORFactory cborFactory = new CBORFactory();
+
+    public LicenseCborHttpMessageConverter() {
+        super(MediaType.APPLICATION_CBOR);
+    }
+
+    /**
+     * Códigos de status estáveis no formato binário (independentes da ordem do enum).
+     */
+    public static int statusCode(LicenseStatus status) {
+        return switch (status) {
+            case ACTIVE -> 0;
+            case EXPIRED -> 1;
+            case REVOKED -> 2;
+            case PENDING_ACTIVATION -> 3;
+            case SUSPENDED -> 4;
+        };
+    }
+
+    // --- Escrita ---
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return LicenseResponse.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        ResolvableType resolved = (type != null ? ResolvableType.forType(type) : ResolvableType.forClass(clazz));
+        return isLicensePayload(resolved) && canWrite(mediaType);
+    }
+
+    private boolean isLicensePayload(ResolvableType type) {
+        Class<?> raw = type.toClass();
+        if (LicenseResponse.class.isAssignableFrom(raw)) {
+            return true;
+        }
+        return Collection.class.isAssignableFrom(raw)
+                && LicenseResponse.class.isAssignableFrom(type.asCollection().getGeneric(0).toClass());
+    }
+
+    @Override
+    protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage) throws IOException {
+        byte[] payload = encode(object);
+        outputMessage.getHeaders().setContentLength(payload.length);
+        StreamUtils.copy(payload, outputMessage.getBody());
+    }
+
+    /**
+     * Codifica um {@link LicenseResponse} ou uma coleção deles.
+     */
+    public byte[] encode(Object payload) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(128);
+        try (CBORGenerator generator = cborFactory.createGenerator(out)) {
+            if (payload instanceof Collection<?> responses) {
+                generator.writeStartArray(responses, responses.size());
+                for (Object response : responses) {
+                    writeLicense(generator, (LicenseResponse) response);
+                }
+                generator.writeEndArray();
+            } else {
+                writeLicense(generator, (LicenseResponse) payload);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private void writeLicense(CBORGenerator generator, LicenseResponse response) throws IOException {
+        generator.writeStartObject();
+        writeText(generator, FIELD_LICENSE_KEY, response.licenseKey());
+        writeText(generator, FIELD_PRODUCT_NAME, response.productName());
+        writeText(generator, FIELD_LICENSED_TO, response.licensedTo());
+        writeDate(generator, FIELD_ISSUE_DATE, response.issueDate());
+        writeDate(generator, FIELD_EXPIRATION_DATE, response.expirationDate());
+        if (response.status() != null) {
+            generator.writeFieldId(FIELD_STATUS);
+            generator.writeNumber(statusCode(response.status()));
+        }
+        if (response.enabledFeatures() != null) {
+            generator.writeFieldId(FIELD_ENABLED_FEATURES);
+            generator.writeStartArray(response.enabledFeatures(), response.enabledFeatures().size());
+            for (String feature : response.enabledFeatures()) {
+                generator.writeString(feature);
+            }
+            generator.writeEndArray();
+        }
+        if (response.maxUsers() != null) {
+            generator.writeFieldId(FIELD_MAX_USERS);
+            generator.writeNumber(response.maxUsers());
+        }
+        writeText(generator, FIELD_HARDWARE_ID, response.hardwareId());
+        writeDate(generator, FIELD_ACTIVATION_DATE, response.activationDate());
+        if (response.message() != null) {
+            Integer messageCode = MESSAGE_CODES.get(response.message());
+            if (messageCode != null) {
+                generator.writeFieldId(FIELD_MESSAGE_CODE);
+                generator.writeNumber(messageCode);
+            } else {
+                writeText(generator, FIELD_MESSAGE_TEXT, response.message());
+            }
+        }
+        generator.writeEndObject();
+    }
+
+    private void writeText(CBORGenerator generator, int fieldId, @Nullable String value) throws IOException {
+        if (value != null) {
+            generator.writeFieldId(fieldId);
+            generator.writeString(value);
+        }
+    }
+
+    private void writeDate(CBORGenerator generator, int fieldId, @Nullable LocalDateTime value) throws IOException {
+        if (value != null) {
+            generator.writeFieldId(fieldId);
+            generator.writeNumber(value.toEpochSecond(ZoneOffset.UTC));
+        }
+    }
+
+    // --- Leitura (não suportada por este conversor) ---
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected boolean canRead(@Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public Object read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("CBOR request bodies are not supported", inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("CBOR request bodies are not supported", inputMessage);
+    }
+}
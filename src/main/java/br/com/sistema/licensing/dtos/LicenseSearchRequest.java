@@ -0,0 +1,31 @@
+package br.com.sistema.licensing.dtos;
+
+import br.com.sistema.licensing.model.LicenseStatus;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+// Filtros da busca de licenças (todos opcionais, recebidos como query params)
+public record LicenseSearchRequest(
+        String licensedTo, // Prefixo, sem diferenciar maiúsculas/minúsculas
+
+        String productName,
+
+        LicenseStatus status,
+
+        String hardwareId,
+
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+        LocalDateTime expiresFrom,
+
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+        LocalDateTime expiresTo,
+
+        Long after, // Cursor: id da última licença da página anterior
+
+        @Min(value = 1, message = "Size must be at least 1")
+        @Max(value = 500, message = "Size must be at most 500")
+        Integer size
+) {}
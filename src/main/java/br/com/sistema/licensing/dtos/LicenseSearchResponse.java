@@ -0,0 +1,8 @@
+package br.com.sistema.licensing.dtos;
+
+import java.util.List;
+
+public record LicenseSearchResponse(
+        List<LicenseSummary> items,
+        Long nextCursor // Valor para o parâmetro 'after' da próxima página; nulo quando não há mais resultados
+) {}
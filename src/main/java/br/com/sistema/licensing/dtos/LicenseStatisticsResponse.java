@@ -0,0 +1,9 @@
+package br.com.sistema.licensing.dtos;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record LicenseStatisticsResponse(
+        LocalDateTime reconciledAt, // Última vez que os contadores foram conferidos com o banco
+        List<ProductLicenseStatistics> products
+) {}
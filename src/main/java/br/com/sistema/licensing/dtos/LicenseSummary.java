@@ -0,0 +1,16 @@
+package br.com.sistema.licensing.dtos;
+
+import br.com.sistema.licensing.model.LicenseStatus;
+
+import java.time.LocalDateTime;
+
+// Projeção enxuta usada na busca: montada direto na consulta, sem carregar a entidade nem as features
+public record LicenseSummary(
+        Long id,
+        String licenseKey,
+        String productName,
+        String licensedTo,
+        LicenseStatus status,
+        LocalDateTime expirationDate,
+        String hardwareId
+) {}
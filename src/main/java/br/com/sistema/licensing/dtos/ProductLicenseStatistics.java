@@ -0,0 +1,14 @@
+package br.com.sistema.licensing.dtos;
+
+import br.com.sistema.licensing.model.LicenseStatus;
+
+import java.util.List;
+import java.util.Map;
+
+public record ProductLicenseStatistics(
+        Long productId,
+        String productName,
+        Map<LicenseStatus, Long> countsByStatus,
+        long total,
+        List<WeeklyExpiration> upcomingExpirations // Licenças ainda vigentes que expiram em cada uma das próximas semanas
+) {}
@@ -0,0 +1,22 @@
+package br.com.sistema.licensing.dtos;
+
+import java.time.LocalDateTime;
+
+public record ProductRetirementStatus(
+        String jobId,
+        Long productId,
+        String productName,
+        State state,
+        long totalLicenses, // Licenças do produto no início do job
+        long deletedLicenses,
+        LocalDateTime startedAt,
+        LocalDateTime finishedAt,
+        String error // Preenchido apenas quando state = FAILED
+) {
+    public enum State {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
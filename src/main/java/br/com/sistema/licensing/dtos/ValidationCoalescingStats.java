@@ -0,0 +1,9 @@
+package br.com.sistema.licensing.dtos;
+
+public record ValidationCoalescingStats(
+        long requests, // Chamadas ao /validate
+        long lookups, // Consultas de fato executadas (uma por grupo de chamadas idênticas)
+        long coalesced, // Chamadas atendidas (ou aguardando) pela consulta de outra; não inclui os timeouts
+        long timeouts, // Chamadas que desistiram de esperar e receberam 503
+        double coalescingRatio // coalesced / requests
+) {}
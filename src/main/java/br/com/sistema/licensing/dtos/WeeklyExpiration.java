@@ -0,0 +1,8 @@
+package br.com.sistema.licensing.dtos;
+
+import java.time.LocalDate;
+
+public record WeeklyExpiration(
+        LocalDate weekStart, // Segunda-feira da semana
+        long count
+) {}
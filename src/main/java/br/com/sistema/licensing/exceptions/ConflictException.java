@@ -0,0 +1,10 @@
+package br.com.sistema.licensing.exceptions;
+
+// Operação válida, mas incompatível com o estado atual do recurso (respondida com 409)
+public class ConflictException extends RuntimeException {
+	private static final long serialVersionUID = 1L;
+
+	public ConflictException(String message) {
+        super(message);
+    }
+}
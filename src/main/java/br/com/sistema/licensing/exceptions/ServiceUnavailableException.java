@@ -0,0 +1,10 @@
+package br.com.sistema.licensing.exceptions;
+
+// Dependência lenta ou indisponível no momento; o cliente deve tentar de novo (respondida com 503)
+public class ServiceUnavailableException extends RuntimeException {
+	private static final long serialVersionUID = 1L;
+
+	public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
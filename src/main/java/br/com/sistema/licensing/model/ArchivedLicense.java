@@ -0,0 +1,66 @@
+package br.com.sistema.licensing.model;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Licença EXPIRED/REVOKED movida da tabela licenses pelo LicenseArchivalService (armazenamento frio, somente leitura)
+@Entity
+@Table(name = "licenses_archive")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedLicense {
+
+    @Id
+    private Long id; // Mesmo id que a licença tinha na tabela licenses
+
+    @Column(nullable = false, unique = true)
+    private String licenseKey;
+
+    @Column(nullable = false)
+    private Long productId; // Sem FK: o produto pode ser aposentado depois do arquivamento
+
+    @Column(nullable = false)
+    private String productName; // Nome do produto no momento do arquivamento
+
+    @Column(nullable = false)
+    private String licensedTo;
+
+    @Column(nullable = false)
+    private LocalDateTime issueDate;
+
+    @Column(nullable = false)
+    private LocalDateTime expirationDate;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private LicenseStatus status;
+
+    @ElementCollection(targetClass = String.class, fetch = FetchType.EAGER)
+    @CollectionTable(name = "license_features_archive", joinColumns = @JoinColumn(name = "license_id"))
+    @Column(name = "feature")
+    private Set<String> enabledFeatures;
+
+    private Integer maxUsers;
+
+    private String hardwareId;
+
+    private LocalDateTime activationDate;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt; // Data em que a licença foi movida para o arquivo
+}
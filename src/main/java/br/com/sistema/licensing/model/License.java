@@ -13,6 +13,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -21,7 +22,12 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "licenses")
+// A busca pagina por id (id > :after ORDER BY id): o id no fim dos índices de igualdade permite ler só a página
+@Table(name = "licenses", indexes = {
+        @Index(name = "idx_licenses_product_status_id", columnList = "product_id, status, id"),
+        @Index(name = "idx_licenses_hardware_id_id", columnList = "hardware_id, id"),
+        @Index(name = "idx_licenses_expiration_date", columnList = "expiration_date")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -2,7 +2,6 @@ package br.com.sistema.licensing.model;
 
 import java.util.List;
 
-import io.swagger.v3.oas.annotations.info.License;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
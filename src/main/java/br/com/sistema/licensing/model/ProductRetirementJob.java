@@ -0,0 +1,55 @@
+package br.com.sistema.licensing.model;
+
+import java.time.LocalDateTime;
+
+import br.com.sistema.licensing.dtos.ProductRetirementStatus.State;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Job de aposentadoria de produto (ProductRetirementService); gravado no banco para ser visível em todas as réplicas
+@Entity
+@Table(name = "product_retirement_jobs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductRetirementJob {
+
+    @Id
+    private String id; // UUID
+
+    @Column(nullable = false)
+    private Long productId; // Sem FK: o produto é apagado ao final do job
+
+    @Column(nullable = false)
+    private String productName;
+
+    // Igual a productId enquanto o job está ativo (QUEUED/RUNNING) e nulo depois: a constraint unique impede
+    // dois jobs ativos para o mesmo produto, mesmo iniciados em réplicas diferentes
+    @Column(unique = true)
+    private Long activeProductId;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private State state;
+
+    private long totalLicenses; // Licenças do produto no início do job
+
+    private long deletedLicenses;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt; // Avança a cada lote; um job ativo parado há muito tempo foi abandonado
+
+    @Column(length = 1000)
+    private String error; // Preenchido apenas quando state = FAILED
+}
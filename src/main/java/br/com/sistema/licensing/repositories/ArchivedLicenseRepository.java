@@ -0,0 +1,36 @@
+package br.com.sistema.licensing.repositories;
+
+import br.com.sistema.licensing.model.ArchivedLicense;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ArchivedLicenseRepository extends JpaRepository<ArchivedLicense, Long> {
+ Optional<ArchivedLicense> findByLicenseKey(String licenseKey);
+ boolean existsByLicenseKey(String licenseKey);
+
+ // Quais das chaves informadas já foram usadas por licenças arquivadas (geração de chaves em lote)
+ @Query("SELECT a.licenseKey FROM ArchivedLicense a WHERE a.licenseKey IN :keys")
+ List<String> findExistingLicenseKeys(Collection<String> keys);
+
+ // --- Cópia em lote a partir das tabelas quentes (as linhas de origem são apagadas pelo LicenseRepository) ---
+
+ @Modifying
+ @Query(value = "INSERT INTO licenses_archive (id, license_key, product_id, product_name, licensed_to, issue_date, "
+         + "expiration_date, status, max_users, hardware_id, activation_date, archived_at) "
+         + "SELECT l.id, l.license_key, l.product_id, p.name, l.licensed_to, l.issue_date, l.expiration_date, l.status, "
+         + "l.max_users, l.hardware_id, l.activation_date, CURRENT_TIMESTAMP "
+         + "FROM licenses l JOIN products p ON p.id = l.product_id WHERE l.id IN (:licenseIds)", nativeQuery = true)
+ int copyLicenses(Collection<Long> licenseIds);
+
+ @Modifying
+ @Query(value = "INSERT INTO license_features_archive (license_id, feature) "
+         + "SELECT license_id, feature FROM license_features WHERE license_id IN (:licenseIds)", nativeQuery = true)
+ int copyFeatures(Collection<Long> licenseIds);
+}
@@ -1,13 +1,61 @@
 package br.com.sistema.licensing.repositories;
 
 import br.com.sistema.licensing.model.License;
+import br.com.sistema.licensing.model.LicenseStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface LicenseRepository extends JpaRepository<License, Long> {
+public interface LicenseRepository extends JpaRepository<License, Long>, LicenseSearchRepository {
  Optional<License> findByLicenseKey(String licenseKey);
  Optional<License> findByLicenseKeyAndProduct_Name(String licenseKey, String productName);
+
+ // Quais das chaves informadas já existem (usado na geração de chaves em lote)
+ @Query("SELECT l.licenseKey FROM License l WHERE l.licenseKey IN :keys")
+ List<String> findExistingLicenseKeys(Collection<String> keys);
+
+ // Existe licença do produto com chave no formato novo (PREF-XXXX-XXXX-XXXX-XXXX-CCCC) com este prefixo?
+ @Query("SELECT COUNT(l) > 0 FROM License l WHERE l.product.id = :productId "
+         + "AND l.licenseKey LIKE CONCAT(:prefix, '-%') AND LENGTH(l.licenseKey) = 29")
+ boolean existsNewFormatKeyWithPrefix(Long productId, String prefix);
+
+ // Contagem por produto, status e semana de expiração (segunda-feira) em uma única consulta; base das estatísticas
+ @Query(value = "SELECT l.product_id, l.status, CAST(date_trunc('week', l.expiration_date) AS date), COUNT(*) "
+         + "FROM licenses l GROUP BY 1, 2, 3", nativeQuery = true)
+ List<Object[]> aggregateByProductStatusAndExpirationWeek();
+
+ // Marca a licença como EXPIRED só se ela ainda estiver no status lido: a mesma transição não é contada duas vezes
+ @Modifying
+ @Query("UPDATE License l SET l.status = br.com.sistema.licensing.model.LicenseStatus.EXPIRED "
+         + "WHERE l.id = :id AND l.status = :currentStatus")
+ int markExpired(Long id, LicenseStatus currentStatus);
+
+ // --- Exclusão em lotes (aposentadoria de produto), sem carregar entidades ---
+
+ long countByProduct_Id(Long productId);
+
+ @Query(value = "SELECT id FROM licenses WHERE product_id = :productId ORDER BY id LIMIT :limit", nativeQuery = true)
+ List<Long> findIdsByProductId(Long productId, int limit);
+
+ @Modifying
+ @Query(value = "DELETE FROM license_features WHERE license_id IN (:licenseIds)", nativeQuery = true)
+ int deleteFeaturesByLicenseIds(Collection<Long> licenseIds);
+
+ @Modifying
+ @Query(value = "DELETE FROM licenses WHERE id IN (:licenseIds)", nativeQuery = true)
+ int deleteByIds(Collection<Long> licenseIds);
+
+ // Licenças EXPIRED/REVOKED que expiraram antes do corte (candidatas ao arquivamento). As linhas ficam travadas
+ // até o fim da transação: uma alteração concorrente (ex: reativação) não é arquivada, e outra réplica rodando o
+ // mesmo job pula as linhas já pegas (SKIP LOCKED) em vez de copiá-las de novo
+ @Query(value = "SELECT id FROM licenses WHERE status IN ('EXPIRED', 'REVOKED') AND expiration_date < :cutoff "
+         + "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+ List<Long> findArchivableIds(LocalDateTime cutoff, int limit);
 }
@@ -0,0 +1,11 @@
+package br.com.sistema.licensing.repositories;
+
+import br.com.sistema.licensing.dtos.LicenseSearchRequest;
+import br.com.sistema.licensing.dtos.LicenseSummary;
+
+import java.util.List;
+
+// Fragmento do LicenseRepository para a busca com filtros dinâmicos (implementado em LicenseSearchRepositoryImpl)
+public interface LicenseSearchRepository {
+ List<LicenseSummary> search(LicenseSearchRequest request, int limit);
+}
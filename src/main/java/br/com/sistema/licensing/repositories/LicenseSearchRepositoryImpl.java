@@ -0,0 +1,85 @@
+package br.com.sistema.licensing.repositories;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import br.com.sistema.licensing.dtos.LicenseSearchRequest;
+import br.com.sistema.licensing.dtos.LicenseSummary;
+import br.com.sistema.licensing.model.License;
+import br.com.sistema.licensing.model.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Busca paginada por keyset (id crescente): cada página filtra {@code id > after}, então o custo
+ * não cresce com a profundidade da paginação como acontece com OFFSET.
+ * Os índices que atendem estes filtros estão em License e em db/license-search-indexes.sql.
+ */
+public class LicenseSearchRepositoryImpl implements LicenseSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<LicenseSummary> search(LicenseSearchRequest request, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<LicenseSummary> query = cb.createQuery(LicenseSummary.class);
+        Root<License> license = query.from(License.class);
+        Join<License, Product> product = license.join("product");
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (hasText(request.licensedTo())) {
+            // lower(licensed_to) LIKE 'prefixo%' usa o índice text_pattern_ops
+            String prefix = escapeLike(request.licensedTo().toLowerCase(Locale.ROOT)) + "%";
+            predicates.add(cb.like(cb.lower(license.get("licensedTo")), prefix, '\\'));
+        }
+        if (hasText(request.productName())) {
+            predicates.add(cb.equal(product.get("name"), request.productName()));
+        }
+        if (request.status() != null) {
+            predicates.add(cb.equal(license.get("status"), request.status()));
+        }
+        if (hasText(request.hardwareId())) {
+            predicates.add(cb.equal(license.get("hardwareId"), request.hardwareId()));
+        }
+        if (request.expiresFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(license.<LocalDateTime>get("expirationDate"), request.expiresFrom()));
+        }
+        if (request.expiresTo() != null) {
+            predicates.add(cb.lessThanOrEqualTo(license.<LocalDateTime>get("expirationDate"), request.expiresTo()));
+        }
+        if (request.after() != null) {
+            predicates.add(cb.greaterThan(license.<Long>get("id"), request.after()));
+        }
+
+        query.select(cb.construct(LicenseSummary.class,
+                        license.get("id"),
+                        license.get("licenseKey"),
+                        product.get("name"),
+                        license.get("licensedTo"),
+                        license.get("status"),
+                        license.get("expirationDate"),
+                        license.get("hardwareId")))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.asc(license.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,24 @@
+package br.com.sistema.licensing.repositories;
+
+import br.com.sistema.licensing.model.ProductRetirementJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface ProductRetirementJobRepository extends JpaRepository<ProductRetirementJob, String> {
+
+ // Libera o produto de um job ativo que parou de avançar (ex: a réplica que o executava caiu)
+ @Modifying
+ @Query("UPDATE ProductRetirementJob j SET j.state = br.com.sistema.licensing.dtos.ProductRetirementStatus.State.FAILED, "
+         + "j.error = 'Abandoned', j.finishedAt = :now, j.activeProductId = NULL "
+         + "WHERE j.activeProductId = :productId AND j.updatedAt < :staleBefore")
+ int abandonStale(Long productId, LocalDateTime staleBefore, LocalDateTime now);
+
+ @Modifying
+ @Query("DELETE FROM ProductRetirementJob j WHERE j.finishedAt < :cutoff")
+ int deleteFinishedBefore(LocalDateTime cutoff);
+}
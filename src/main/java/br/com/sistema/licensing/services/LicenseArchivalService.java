@@ -0,0 +1,97 @@
+package br.com.sistema.licensing.services;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.sistema.licensing.repositories.ArchivedLicenseRepository;
+import br.com.sistema.licensing.repositories.LicenseRepository;
+
+/**
+ * Move licenças EXPIRED ou REVOKED cuja expiração ficou para trás há mais que a janela de retenção
+ * para licenses_archive / license_features_archive, mantendo as tabelas quentes pequenas.
+ *
+ * Como não há data de revogação, a janela conta a partir da expirationDate para os dois status.
+ * Cada lote (cópia + exclusão) roda na sua própria transação curta, com as linhas selecionadas
+ * travadas (FOR UPDATE SKIP LOCKED) até o commit: uma licença reativada no meio do caminho não é
+ * arquivada e várias réplicas podem disparar o cron ao mesmo tempo sem copiar a mesma linha duas vezes.
+ * O guard abaixo só evita execuções sobrepostas dentro da mesma instância. getLicenseByKey continua
+ * encontrando as licenças arquivadas pelo fallback em ArchivedLicenseRepository.
+ */
+@Service
+public class LicenseArchivalService {
+
+    private static final Logger log = LoggerFactory.getLogger(LicenseArchivalService.class);
+
+    private final LicenseRepository licenseRepository;
+    private final ArchivedLicenseRepository archivedLicenseRepository;
+    private final LicenseStatisticsService licenseStatisticsService;
+    private final TransactionTemplate transactionTemplate;
+    private final int retentionDays;
+    private final int batchSize;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    public LicenseArchivalService(LicenseRepository licenseRepository,
+                                  ArchivedLicenseRepository archivedLicenseRepository,
+                                  LicenseStatisticsService licenseStatisticsService,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${licensing.archival.retention-days:365}") int retentionDays,
+                                  @Value("${licensing.archival.batch-size:1000}") int batchSize) {
+        this.licenseRepository = licenseRepository;
+        this.archivedLicenseRepository = archivedLicenseRepository;
+        this.licenseStatisticsService = licenseStatisticsService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retentionDays = retentionDays;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Executa o arquivamento até não sobrar candidata. Retorna o número de licenças movidas.
+     */
+    @Scheduled(cron = "${licensing.archival.cron:0 0 3 * * *}")
+    public long archiveExpiredLicenses() {
+        if (!running.compareAndSet(false, true)) {
+            return 0; // Já existe uma execução em andamento
+        }
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+            long archived = 0;
+            int moved;
+            do {
+                moved = archiveBatch(cutoff);
+                archived += moved;
+            } while (moved > 0);
+
+            if (archived > 0) {
+                log.info("Archived {} licenses expired before {}", archived, cutoff);
+                licenseStatisticsService.reconcile(); // As contagens de EXPIRED/REVOKED mudaram
+            }
+            return archived;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private int archiveBatch(LocalDateTime cutoff) {
+        Integer moved = transactionTemplate.execute(status -> {
+            List<Long> licenseIds = licenseRepository.findArchivableIds(cutoff, batchSize);
+            if (licenseIds.isEmpty()) {
+                return 0;
+            }
+            archivedLicenseRepository.copyLicenses(licenseIds);
+            archivedLicenseRepository.copyFeatures(licenseIds);
+            licenseRepository.deleteFeaturesByLicenseIds(licenseIds);
+            return licenseRepository.deleteByIds(licenseIds);
+        });
+        return moved == null ? 0 : moved;
+    }
+}
@@ -0,0 +1,162 @@
+package br.com.sistema.licensing.services;
+
+import java.nio.charset.StandardCharsets;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Gera e confere chaves de licença no formato {@code PREF-XXXX-XXXX-XXXX-XXXX-CCCC}:
+ * <ul>
+ *   <li>{@code PREF}: 4 caracteres derivados do nome do produto</li>
+ *   <li>{@code XXXX...}: 80 bits aleatórios em base32 Crockford</li>
+ *   <li>{@code CCCC}: 20 bits do CRC32 de tudo que vem antes, também em base32</li>
+ * </ul>
+ * O checksum e o prefixo permitem rejeitar chaves digitadas errado, ou de outro produto, sem consultar o banco.
+ */
+@Component
+public class LicenseKeyGenerator {
+
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray(); // Crockford (sem I, L, O, U)
+    private static final Pattern FORMAT = Pattern.compile("[A-Z0-9]{4}(-[0-9A-HJKMNP-TV-Z]{4}){5}");
+    private static final int PREFIX_LENGTH = 4;
+    private static final int GROUP_LENGTH = 4;
+    private static final int RANDOM_BYTES = 10; // 80 bits -> 16 caracteres
+    private static final int KEY_LENGTH = 29;
+    private static final int CHECKSUM_START = KEY_LENGTH - GROUP_LENGTH;
+
+    // Um gerador por thread: evita a contenção no SecureRandom compartilhado usado pelo UUID.randomUUID()
+    private static final ThreadLocal<SecureRandom> RANDOM = ThreadLocal.withInitial(LicenseKeyGenerator::newRandom);
+
+    // Chaves antigas (UUID truncado ou informadas manualmente) não têm checksum
+    private static final int LEGACY_MIN_LENGTH = 10;
+    private static final int LEGACY_MAX_LENGTH = 50;
+
+    private final boolean acceptLegacyKeys;
+
+    public LicenseKeyGenerator(@Value("${licensing.keys.accept-legacy:true}") boolean acceptLegacyKeys) {
+        this.acceptLegacyKeys = acceptLegacyKeys;
+    }
+
+    public String generate(String productName) {
+        byte[] random = new byte[RANDOM_BYTES];
+        RANDOM.get().nextBytes(random);
+
+        StringBuilder key = new StringBuilder(KEY_LENGTH);
+        key.append(prefixFor(productName));
+        int written = 0;
+        for (int chunk = 0; chunk < RANDOM_BYTES; chunk += 5) {
+            // 5 bytes = 40 bits = 8 caracteres de 5 bits
+            long bits = 0;
+            for (int i = chunk; i < chunk + 5; i++) {
+                bits = (bits << 8) | (random[i] & 0xFF);
+            }
+            for (int shift = 35; shift >= 0; shift -= 5) {
+                if (written % GROUP_LENGTH == 0) {
+                    key.append('-');
+                }
+                key.append(ALPHABET[(int) (bits >>> shift) & 31]);
+                written++;
+            }
+        }
+        key.append('-');
+        appendChecksum(key, checksum(key));
+        return key.toString();
+    }
+
+    /**
+     * Gera {@code count} chaves distintas entre si (a unicidade frente ao banco é responsabilidade de quem chama).
+     */
+    public List<String> generateBatch(String productName, int count) {
+        Set<String> keys = new LinkedHashSet<>(count * 2);
+        while (keys.size() < count) {
+            keys.add(generate(productName));
+        }
+        return new ArrayList<>(keys);
+    }
+
+    /**
+     * Indica se a chave pode existir: formato novo com checksum correto ou, se permitido, uma chave antiga.
+     */
+    public boolean isWellFormed(String key) {
+        if (key == null) {
+            return false;
+        }
+        if (isNewFormat(key)) {
+            StringBuilder expected = new StringBuilder(GROUP_LENGTH);
+            appendChecksum(expected, checksum(key.subSequence(0, CHECKSUM_START)));
+            return key.regionMatches(CHECKSUM_START, expected.toString(), 0, GROUP_LENGTH);
+        }
+        return acceptLegacyKeys
+                && key.length() >= LEGACY_MIN_LENGTH
+                && key.length() <= LEGACY_MAX_LENGTH
+                && key.chars().noneMatch(Character::isWhitespace);
+    }
+
+    /**
+     * Como {@link #isWellFormed(String)}, mas uma chave do formato novo também precisa ter o prefixo do
+     * produto informado. Chaves antigas não têm prefixo e seguem só a regra de formato.
+     * Renomear um produto muda o prefixo esperado: chaves emitidas antes passam a ser rejeitadas.
+     */
+    public boolean isWellFormedFor(String key, String productName) {
+        return isWellFormed(key) && hasProductPrefix(key, productName);
+    }
+
+    /**
+     * Indica se a chave pode pertencer ao produto: chaves do formato novo precisam ter o prefixo dele;
+     * as demais (antigas) não carregam prefixo e sempre passam.
+     */
+    public boolean hasProductPrefix(String key, String productName) {
+        return !isNewFormat(key) || key.regionMatches(0, prefixFor(productName), 0, PREFIX_LENGTH);
+    }
+
+    // --- Métodos Auxiliares ---
+
+    private static boolean isNewFormat(String key) {
+        return key.length() == KEY_LENGTH && FORMAT.matcher(key).matches();
+    }
+
+    static String prefixFor(String productName) {
+        StringBuilder prefix = new StringBuilder(PREFIX_LENGTH);
+        String upper = productName == null ? "" : productName.toUpperCase(Locale.ROOT);
+        for (int i = 0; i < upper.length() && prefix.length() < PREFIX_LENGTH; i++) {
+            char c = upper.charAt(i);
+            if ((c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')) {
+                prefix.append(c);
+            }
+        }
+        while (prefix.length() < PREFIX_LENGTH) {
+            prefix.append('X');
+        }
+        return prefix.toString();
+    }
+
+    private static int checksum(CharSequence body) {
+        CRC32 crc = new CRC32();
+        crc.update(body.toString().getBytes(StandardCharsets.US_ASCII));
+        return (int) (crc.getValue() & 0xFFFFF); // 20 bits -> 4 caracteres
+    }
+
+    private static void appendChecksum(StringBuilder target, int checksum) {
+        for (int shift = 15; shift >= 0; shift -= 5) {
+            target.append(ALPHABET[(checksum >>> shift) & 31]);
+        }
+    }
+
+    private static SecureRandom newRandom() {
+        try {
+            return SecureRandom.getInstance("DRBG");
+        } catch (NoSuchAlgorithmException e) {
+            return new SecureRandom();
+        }
+    }
+}
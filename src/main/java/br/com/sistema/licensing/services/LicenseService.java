@@ -1,9 +1,11 @@
 package br.com.sistema.licensing.services;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
@@ -11,12 +13,17 @@ import org.springframework.transaction.annotation.Transactional;
 
 import br.com.sistema.licensing.dtos.LicenseRequest;
 import br.com.sistema.licensing.dtos.LicenseResponse;
+import br.com.sistema.licensing.dtos.LicenseSearchRequest;
+import br.com.sistema.licensing.dtos.LicenseSearchResponse;
+import br.com.sistema.licensing.dtos.LicenseSummary;
 import br.com.sistema.licensing.dtos.LicenseValidationRequest;
 import br.com.sistema.licensing.exceptions.LicenseException;
 import br.com.sistema.licensing.exceptions.ResourceNotFoundException;
+import br.com.sistema.licensing.model.ArchivedLicense;
 import br.com.sistema.licensing.model.License;
 import br.com.sistema.licensing.model.LicenseStatus;
 import br.com.sistema.licensing.model.Product;
+import br.com.sistema.licensing.repositories.ArchivedLicenseRepository;
 import br.com.sistema.licensing.repositories.LicenseRepository;
 import lombok.RequiredArgsConstructor;
 
@@ -25,7 +32,13 @@ import lombok.RequiredArgsConstructor;
 public class LicenseService {
 
  private final LicenseRepository licenseRepository;
+ private final ArchivedLicenseRepository archivedLicenseRepository;
  private final ProductService productService; // Para buscar o produto associado
+ private final LicenseKeyGenerator licenseKeyGenerator;
+ private final LicenseStatisticsService licenseStatisticsService;
+
+ private static final int MAX_KEY_BATCH_SIZE = 10_000;
+ private static final int DEFAULT_SEARCH_PAGE_SIZE = 50;
 
  // --- Métodos de Gerenciamento de Licenças (para o administrador/painel) ---
 
@@ -34,13 +47,17 @@ public class LicenseService {
      Product product = productService.getProductEntityByName(request.productName()); // Acessando o componente 'productName' do record
 
      // Opcional: Gerar uma licenseKey se não for fornecida (ex: para chaves de ativação)
-     String licenseKey = Optional.ofNullable(request.licenseKey()) // Acessando o componente 'licenseKey' do record
-                                 .filter(key -> !key.isBlank())
-                                 .orElseGet(() -> generateUniqueLicenseKey());
-
-     // Verificar se a licenseKey já existe
-     if (licenseRepository.findByLicenseKey(licenseKey).isPresent()) {
-         throw new LicenseException("License key already exists: " + licenseKey);
+     String licenseKey = request.licenseKey(); // Acessando o componente 'licenseKey' do record
+     if (licenseKey == null || licenseKey.isBlank()) {
+         // 80 bits aleatórios: colisão é desprezível e a constraint unique do banco cobre o resto
+         licenseKey = licenseKeyGenerator.generate(product.getName());
+     } else {
+         requireWellFormedKey(licenseKey, product.getName()); // Uma chave de outro produto nunca passaria no /validate
+
+         // Verificar se a licenseKey já existe (inclusive entre as arquivadas)
+         if (licenseRepository.findByLicenseKey(licenseKey).isPresent() || archivedLicenseRepository.existsByLicenseKey(licenseKey)) {
+             throw new LicenseException("License key already exists: " + licenseKey);
+         }
      }
 
      License license = new License();
@@ -56,14 +73,20 @@ public class LicenseService {
      license.setActivationDate(null); // Nulo até ser ativada
 
      License savedLicense = licenseRepository.save(license);
+     licenseStatisticsService.recordChange(null, LicenseStatisticsService.Entry.of(savedLicense));
      return mapToLicenseResponse(savedLicense, "License created successfully.");
  }
 
  @Transactional(readOnly = true)
  public LicenseResponse getLicenseByKey(String licenseKey) {
-     License license = licenseRepository.findByLicenseKey(licenseKey)
+     Optional<License> license = licenseRepository.findByLicenseKey(licenseKey);
+     if (license.isPresent()) {
+         return mapToLicenseResponse(license.get(), "License retrieved successfully.");
+     }
+     // Fallback: licenças antigas movidas para o arquivo pelo LicenseArchivalService
+     return archivedLicenseRepository.findByLicenseKey(licenseKey)
+             .map(archived -> mapToLicenseResponse(archived, "License retrieved from archive."))
              .orElseThrow(() -> new ResourceNotFoundException("License not found with key: " + licenseKey));
-     return mapToLicenseResponse(license, "License retrieved successfully.");
  }
 
  @Transactional(readOnly = true)
@@ -73,12 +96,30 @@ public class LicenseService {
              .collect(Collectors.toList());
  }
 
+ @Transactional(readOnly = true)
+ public LicenseSearchResponse searchLicenses(LicenseSearchRequest request) {
+     int size = request.size() != null ? request.size() : DEFAULT_SEARCH_PAGE_SIZE;
+
+     // Busca um item a mais só para saber se existe próxima página
+     List<LicenseSummary> items = licenseRepository.search(request, size + 1);
+     if (items.size() <= size) {
+         return new LicenseSearchResponse(items, null);
+     }
+     List<LicenseSummary> page = items.subList(0, size);
+     return new LicenseSearchResponse(new ArrayList<>(page), page.get(size - 1).id());
+ }
+
  @Transactional
  public LicenseResponse updateLicense(String licenseKey, LicenseRequest request) {
      License license = licenseRepository.findByLicenseKey(licenseKey)
              .orElseThrow(() -> new ResourceNotFoundException("License not found with key: " + licenseKey));
+     LicenseStatisticsService.Entry before = LicenseStatisticsService.Entry.of(license);
 
      Product product = productService.getProductEntityByName(request.productName());
+     if (!licenseKeyGenerator.hasProductPrefix(license.getLicenseKey(), product.getName())) {
+         // O /validate confere o prefixo com o produto: mover a chave deixaria a licença inutilizável
+         throw new LicenseException("License key prefix does not match product: " + product.getName());
+     }
 
      license.setProduct(product);
      license.setLicensedTo(request.licensedTo());
@@ -91,20 +132,49 @@ public class LicenseService {
      // Não atualizamos a activationDate aqui, ela é definida no processo de ativação
 
      License updatedLicense = licenseRepository.save(license);
+     licenseStatisticsService.recordChange(before, LicenseStatisticsService.Entry.of(updatedLicense));
      return mapToLicenseResponse(updatedLicense, "License updated successfully.");
  }
 
+ // Gera chaves para emissão em lote, garantindo que nenhuma delas já exista no banco
+ @Transactional(readOnly = true)
+ public List<String> generateLicenseKeys(String productName, int count) {
+     if (count < 1 || count > MAX_KEY_BATCH_SIZE) {
+         throw new LicenseException("Key batch size must be between 1 and " + MAX_KEY_BATCH_SIZE + ".");
+     }
+     Product product = productService.getProductEntityByName(productName);
+
+     Set<String> keys = new LinkedHashSet<>(licenseKeyGenerator.generateBatch(product.getName(), count));
+     List<String> candidates = new ArrayList<>(keys);
+     // Uma consulta por rodada; na prática só há uma rodada
+     while (!candidates.isEmpty()) {
+         licenseRepository.findExistingLicenseKeys(candidates).forEach(keys::remove);
+         archivedLicenseRepository.findExistingLicenseKeys(candidates).forEach(keys::remove); // Chaves arquivadas também continuam ocupadas
+         candidates = new ArrayList<>();
+         while (keys.size() < count) {
+             String key = licenseKeyGenerator.generate(product.getName());
+             if (keys.add(key)) {
+                 candidates.add(key);
+             }
+         }
+     }
+     return new ArrayList<>(keys);
+ }
+
  @Transactional
  public void deleteLicense(String licenseKey) {
      License license = licenseRepository.findByLicenseKey(licenseKey)
              .orElseThrow(() -> new ResourceNotFoundException("License not found with key: " + licenseKey));
+     licenseStatisticsService.recordChange(LicenseStatisticsService.Entry.of(license), null);
      licenseRepository.delete(license);
  }
 
  // --- Métodos de Ativação e Validação (para o cliente da aplicação) ---
 
- @Transactional
+ // A LicenseException de licença expirada não desfaz a transação: a passagem para EXPIRED precisa ser gravada
+ @Transactional(noRollbackFor = LicenseException.class)
  public LicenseResponse activateLicense(LicenseValidationRequest request) {
+     requireWellFormedKey(request.licenseKey(), request.productName()); // Rejeita chaves inválidas ou de outro produto sem ir ao banco
      License license = licenseRepository.findByLicenseKeyAndProduct_Name(request.licenseKey(), request.productName()) // Acessando componentes do record
              .orElseThrow(() -> new ResourceNotFoundException("License not found for key and product."));
 
@@ -129,22 +199,24 @@ public class LicenseService {
      }
 
      if (license.getExpirationDate().isBefore(LocalDateTime.now())) {
-         license.setStatus(LicenseStatus.EXPIRED);
-         licenseRepository.save(license);
+         markExpired(license);
          throw new LicenseException("License has expired.");
      }
 
      // Se a licença está PENDING_ACTIVATION ou SUSPENDED e pode ser reativada
+     LicenseStatisticsService.Entry before = LicenseStatisticsService.Entry.of(license);
      license.setStatus(LicenseStatus.ACTIVE);
      license.setActivationDate(LocalDateTime.now());
      license.setHardwareId(request.hardwareId()); // Vincula ao hardware na ativação
      License activatedLicense = licenseRepository.save(license);
+     licenseStatisticsService.recordChange(before, LicenseStatisticsService.Entry.of(activatedLicense));
 
      return mapToLicenseResponse(activatedLicense, "License activated successfully.");
  }
 
- @Transactional(readOnly = true)
+ @Transactional // Não é somente leitura: a validação pode gravar a passagem para EXPIRED
  public LicenseResponse validateLicense(LicenseValidationRequest request) {
+     requireWellFormedKey(request.licenseKey(), request.productName()); // Rejeita chaves inválidas ou de outro produto sem ir ao banco
      License license = licenseRepository.findByLicenseKeyAndProduct_Name(request.licenseKey(), request.productName())
              .orElseThrow(() -> new ResourceNotFoundException("License not found for key and product."));
 
@@ -161,9 +233,8 @@ public class LicenseService {
      }
 
      if (license.getExpirationDate().isBefore(LocalDateTime.now())) {
-         license.setStatus(LicenseStatus.EXPIRED); // Atualiza o status no DB
-         licenseRepository.save(license);
-         return mapToLicenseResponse(license, "License has expired.");
+         markExpired(license); // Atualiza o status no DB
+         return mapToExpiredResponse(license);
      }
 
      // Validação de hardware (se a licença estiver vinculada a hardware)
@@ -196,8 +267,51 @@ public class LicenseService {
      );
  }
 
- private String generateUniqueLicenseKey() {
-     // Gera uma chave UUID e remove os hífens para uma chave mais compacta
-     return UUID.randomUUID().toString().replace("-", "").substring(0, 20).toUpperCase();
+ private LicenseResponse mapToLicenseResponse(ArchivedLicense license, String message) {
+     return new LicenseResponse(
+             license.getLicenseKey(),
+             license.getProductName(),
+             license.getLicensedTo(),
+             license.getIssueDate(),
+             license.getExpirationDate(),
+             license.getStatus(),
+             license.getEnabledFeatures(),
+             license.getMaxUsers(),
+             license.getHardwareId(),
+             license.getActivationDate(),
+             message
+     );
+ }
+
+ // Grava a passagem para EXPIRED na transação atual com um UPDATE condicional. A entidade gerenciada não é
+ // alterada: o flush regravaria a linha inteira com os valores lidos, por cima de mudanças concorrentes
+ private void markExpired(License license) {
+     if (licenseRepository.markExpired(license.getId(), license.getStatus()) > 0) {
+         LicenseStatisticsService.Entry before = LicenseStatisticsService.Entry.of(license);
+         licenseStatisticsService.recordChange(before,
+                 new LicenseStatisticsService.Entry(before.productId(), LicenseStatus.EXPIRED, before.expirationDate()));
+     }
+ }
+
+ private LicenseResponse mapToExpiredResponse(License license) {
+     return new LicenseResponse(
+             license.getLicenseKey(),
+             license.getProduct().getName(),
+             license.getLicensedTo(),
+             license.getIssueDate(),
+             license.getExpirationDate(),
+             LicenseStatus.EXPIRED,
+             license.getEnabledFeatures(),
+             license.getMaxUsers(),
+             license.getHardwareId(),
+             license.getActivationDate(),
+             "License has expired."
+     );
+ }
+
+ private void requireWellFormedKey(String licenseKey, String productName) {
+     if (!licenseKeyGenerator.isWellFormedFor(licenseKey, productName)) {
+         throw new LicenseException("Malformed license key.");
+     }
  }
 }
@@ -0,0 +1,219 @@
+package br.com.sistema.licensing.services;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import br.com.sistema.licensing.dtos.LicenseStatisticsResponse;
+import br.com.sistema.licensing.dtos.ProductLicenseStatistics;
+import br.com.sistema.licensing.dtos.ProductResponse;
+import br.com.sistema.licensing.dtos.WeeklyExpiration;
+import br.com.sistema.licensing.exceptions.LicenseException;
+import br.com.sistema.licensing.model.License;
+import br.com.sistema.licensing.model.LicenseStatus;
+import br.com.sistema.licensing.repositories.LicenseRepository;
+import br.com.sistema.licensing.repositories.ProductRepository;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Contadores em memória de licenças por produto/status e de expirações por semana.
+ *
+ * Carregados com uma única consulta agregada, atualizados a cada mudança (após o commit da
+ * transação) e reconciliados periodicamente com o banco para corrigir qualquer desvio.
+ * Consultar as estatísticas custa O(produtos x status), independentemente do tamanho da tabela.
+ */
+@Service
+@RequiredArgsConstructor
+public class LicenseStatisticsService {
+
+    private static final int STATUS_COUNT = LicenseStatus.values().length;
+    private static final int MAX_WEEKS = 52;
+
+    private final LicenseRepository licenseRepository;
+    private final ProductRepository productRepository;
+
+    private volatile Counters counters; // Nulo até a primeira carga
+
+    /**
+     * Estado de uma licença relevante para as estatísticas.
+     */
+    public record Entry(Long productId, LicenseStatus status, LocalDateTime expirationDate) {
+        public static Entry of(License license) {
+            return new Entry(license.getProduct().getId(), license.getStatus(), license.getExpirationDate());
+        }
+    }
+
+    // --- Atualização incremental ---
+
+    /**
+     * Registra a transição de uma licença (before nulo = criação, after nulo = exclusão).
+     */
+    public void recordChange(Entry before, Entry after) {
+        if (Objects.equals(before, after)) {
+            return;
+        }
+        afterCommit(() -> {
+            Counters current = counters;
+            if (current == null) {
+                return; // A carga inicial ainda não rodou e vai ler o estado já com esta mudança
+            }
+            if (before != null) {
+                current.apply(before, -1);
+            }
+            if (after != null) {
+                current.apply(after, 1);
+            }
+        });
+    }
+
+    public void recordProductDeleted(Long productId) {
+        afterCommit(() -> {
+            Counters current = counters;
+            if (current != null) {
+                current.byStatus.remove(productId);
+                current.expirations.remove(productId);
+            }
+        });
+    }
+
+    // --- Carga e reconciliação ---
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        reconcile();
+    }
+
+    @Scheduled(fixedDelayString = "${licensing.statistics.reconcile-interval:PT10M}",
+               initialDelayString = "${licensing.statistics.reconcile-interval:PT10M}")
+    public void reconcile() {
+        LocalDate currentWeek = weekStart(LocalDateTime.now());
+        Counters fresh = new Counters(LocalDateTime.now());
+        for (Object[] row : licenseRepository.aggregateByProductStatusAndExpirationWeek()) {
+            Long productId = ((Number) row[0]).longValue();
+            LicenseStatus status = LicenseStatus.valueOf((String) row[1]);
+            LocalDate week = toLocalDate(row[2]);
+            long total = ((Number) row[3]).longValue();
+
+            fresh.byStatus.computeIfAbsent(productId, id -> new AtomicLongArray(STATUS_COUNT))
+                    .addAndGet(status.ordinal(), total);
+            if (countsTowardExpiration(status) && week != null && !week.isBefore(currentWeek)) {
+                fresh.expirations.computeIfAbsent(productId, id -> new ConcurrentHashMap<>())
+                        .computeIfAbsent(week, w -> new AtomicLong())
+                        .addAndGet(total);
+            }
+        }
+        // Mudanças que caírem entre a consulta e a troca podem se perder; a próxima reconciliação corrige
+        counters = fresh;
+    }
+
+    // --- Consulta ---
+
+    public LicenseStatisticsResponse getStatistics(int weeks) {
+        if (weeks < 0 || weeks > MAX_WEEKS) {
+            throw new LicenseException("Weeks must be between 0 and " + MAX_WEEKS + ".");
+        }
+        Counters current = counters;
+        if (current == null) {
+            synchronized (this) {
+                if (counters == null) {
+                    reconcile();
+                }
+                current = counters;
+            }
+        }
+
+        LocalDate currentWeek = weekStart(LocalDateTime.now());
+        List<ProductLicenseStatistics> products = new ArrayList<>();
+        for (ProductResponse product : productRepository.findAllProductResponses()) {
+            Map<LicenseStatus, Long> countsByStatus = new EnumMap<>(LicenseStatus.class);
+            long total = 0;
+            AtomicLongArray statusCounts = current.byStatus.get(product.id());
+            for (LicenseStatus status : LicenseStatus.values()) {
+                long count = statusCounts == null ? 0 : statusCounts.get(status.ordinal());
+                countsByStatus.put(status, count);
+                total += count;
+            }
+
+            List<WeeklyExpiration> upcoming = new ArrayList<>(weeks);
+            Map<LocalDate, AtomicLong> productExpirations = current.expirations.get(product.id());
+            for (int i = 0; i < weeks; i++) {
+                LocalDate week = currentWeek.plusWeeks(i);
+                AtomicLong count = productExpirations == null ? null : productExpirations.get(week);
+                upcoming.add(new WeeklyExpiration(week, count == null ? 0 : count.get()));
+            }
+
+            products.add(new ProductLicenseStatistics(product.id(), product.name(), countsByStatus, total, upcoming));
+        }
+        return new LicenseStatisticsResponse(current.reconciledAt, products);
+    }
+
+    // --- Métodos Auxiliares ---
+
+    private static boolean countsTowardExpiration(LicenseStatus status) {
+        return status != LicenseStatus.EXPIRED && status != LicenseStatus.REVOKED;
+    }
+
+    private static LocalDate weekStart(LocalDateTime dateTime) {
+        return dateTime.toLocalDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        if (value instanceof LocalDate date) {
+            return date;
+        }
+        if (value instanceof java.sql.Date date) {
+            return date.toLocalDate();
+        }
+        return null;
+    }
+
+    // Aplica a atualização só depois do commit, para que um rollback não deixe os contadores divergentes
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static final class Counters {
+        private final LocalDateTime reconciledAt;
+        private final Map<Long, AtomicLongArray> byStatus = new ConcurrentHashMap<>();
+        private final Map<Long, Map<LocalDate, AtomicLong>> expirations = new ConcurrentHashMap<>();
+
+        private Counters(LocalDateTime reconciledAt) {
+            this.reconciledAt = reconciledAt;
+        }
+
+        private void apply(Entry entry, int delta) {
+            byStatus.computeIfAbsent(entry.productId(), id -> new AtomicLongArray(STATUS_COUNT))
+                    .addAndGet(entry.status().ordinal(), delta);
+            if (countsTowardExpiration(entry.status()) && entry.expirationDate() != null) {
+                expirations.computeIfAbsent(entry.productId(), id -> new ConcurrentHashMap<>())
+                        .computeIfAbsent(weekStart(entry.expirationDate()), w -> new AtomicLong())
+                        .addAndGet(delta);
+            }
+        }
+    }
+}
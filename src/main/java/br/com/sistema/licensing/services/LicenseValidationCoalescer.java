@@ -0,0 +1,99 @@
+package br.com.sistema.licensing.services;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import br.com.sistema.licensing.dtos.LicenseResponse;
+import br.com.sistema.licensing.dtos.LicenseValidationRequest;
+import br.com.sistema.licensing.dtos.ValidationCoalescingStats;
+import br.com.sistema.licensing.exceptions.ServiceUnavailableException;
+
+/**
+ * Agrupa validações idênticas simultâneas (mesmo licenseKey, productName e hardwareId):
+ * a primeira chamada consulta o banco e as que chegam enquanto ela está em andamento recebem
+ * o mesmo resultado (ou a mesma exceção). Útil quando um cluster inteiro reinicia e valida
+ * a mesma licença ao mesmo tempo.
+ *
+ * A espera é limitada: se a consulta líder passar do timeout, quem está esperando recebe
+ * ServiceUnavailableException (503) em vez de fazer a sua própria consulta. Com o banco lento, uma
+ * consulta por chamador que desistiu só adiaria o estouro da manada; o cliente tenta de novo depois.
+ */
+@Component
+public class LicenseValidationCoalescer {
+
+    private final LicenseService licenseService;
+    private final long timeoutMillis;
+
+    // O próprio record da requisição é a chave: equals/hashCode cobrem os três campos
+    private final ConcurrentHashMap<LicenseValidationRequest, CompletableFuture<LicenseResponse>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    public LicenseValidationCoalescer(LicenseService licenseService,
+                                      @Value("${licensing.validation.coalesce-timeout-ms:2000}") long timeoutMillis) {
+        this.licenseService = licenseService;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public LicenseResponse validate(LicenseValidationRequest request) {
+        requests.increment();
+        CompletableFuture<LicenseResponse> lookup = new CompletableFuture<>();
+        CompletableFuture<LicenseResponse> inProgress = inFlight.putIfAbsent(request, lookup);
+        if (inProgress == null) {
+            return lead(request, lookup);
+        }
+
+        coalesced.increment();
+        try {
+            return inProgress.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            coalesced.decrement(); // Não foi atendida pela consulta líder
+            timeouts.increment();
+            throw new ServiceUnavailableException("License validation is taking too long, please retry.");
+        } catch (ExecutionException e) {
+            // Propaga a mesma exceção da consulta líder (ResourceNotFoundException, LicenseException...)
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for license validation", e);
+        }
+    }
+
+    public ValidationCoalescingStats getStats() {
+        long totalRequests = requests.sum();
+        long totalCoalesced = coalesced.sum();
+        double ratio = totalRequests == 0 ? 0.0 : (double) totalCoalesced / totalRequests;
+        return new ValidationCoalescingStats(totalRequests, lookups.sum(), totalCoalesced, timeouts.sum(), ratio);
+    }
+
+    private LicenseResponse lead(LicenseValidationRequest request, CompletableFuture<LicenseResponse> lookup) {
+        lookups.increment();
+        try {
+            LicenseResponse response = licenseService.validateLicense(request);
+            lookup.complete(response);
+            return response;
+        } catch (RuntimeException | Error e) {
+            lookup.completeExceptionally(e);
+            throw e;
+        } finally {
+            // Chamadas que chegarem depois daqui fazem uma nova consulta (nada de resultado velho em cache)
+            inFlight.remove(request, lookup);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package br.com.sistema.licensing.services;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.sistema.licensing.dtos.ProductRetirementStatus;
+import br.com.sistema.licensing.dtos.ProductRetirementStatus.State;
+import br.com.sistema.licensing.exceptions.ConflictException;
+import br.com.sistema.licensing.exceptions.ResourceNotFoundException;
+import br.com.sistema.licensing.model.Product;
+import br.com.sistema.licensing.model.ProductRetirementJob;
+import br.com.sistema.licensing.repositories.LicenseRepository;
+import br.com.sistema.licensing.repositories.ProductRepository;
+import br.com.sistema.licensing.repositories.ProductRetirementJobRepository;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Aposentadoria (exclusão) assíncrona de produtos com muitas licenças.
+ *
+ * Em vez de deixar o cascade do JPA carregar cada License (e suas features EAGER) numa única
+ * transação, apaga license_features e licenses em lotes de ids, cada lote na sua própria transação
+ * curta, com uma pausa entre eles. Assim os locks duram pouco e a validação dos demais produtos
+ * segue normalmente.
+ *
+ * Os jobs ficam em product_retirement_jobs: qualquer réplica responde o progresso, e a coluna unique
+ * activeProductId impede dois jobs ativos para o mesmo produto. Cada réplica executa os seus jobs um
+ * por vez; um job cuja réplica caiu fica parado e é liberado depois de licensing.retirement.stale-after.
+ */
+@Service
+public class ProductRetirementService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductRetirementService.class);
+    private static final int FINISHED_JOB_RETENTION_DAYS = 1;
+
+    private final ProductRepository productRepository;
+    private final LicenseRepository licenseRepository;
+    private final ProductRetirementJobRepository jobRepository;
+    private final LicenseStatisticsService licenseStatisticsService;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final long pauseMillis;
+    private final Duration staleAfter;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "product-retirement");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ProductRetirementService(ProductRepository productRepository,
+                                    LicenseRepository licenseRepository,
+                                    ProductRetirementJobRepository jobRepository,
+                                    LicenseStatisticsService licenseStatisticsService,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${licensing.retirement.chunk-size:1000}") int chunkSize,
+                                    @Value("${licensing.retirement.pause-ms:50}") long pauseMillis,
+                                    @Value("${licensing.retirement.stale-after:PT30M}") Duration staleAfter) {
+        this.productRepository = productRepository;
+        this.licenseRepository = licenseRepository;
+        this.jobRepository = jobRepository;
+        this.licenseStatisticsService = licenseStatisticsService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.pauseMillis = pauseMillis;
+        this.staleAfter = staleAfter;
+    }
+
+    public ProductRetirementStatus retireProduct(Long productId) {
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + productId));
+
+        LocalDateTime now = LocalDateTime.now();
+        ProductRetirementJob job = new ProductRetirementJob(UUID.randomUUID().toString(), product.getId(),
+                product.getName(), product.getId(), State.QUEUED, 0, 0, null, null, now, null);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jobRepository.deleteFinishedBefore(now.minusDays(FINISHED_JOB_RETENTION_DAYS));
+                jobRepository.abandonStale(productId, now.minus(staleAfter), now);
+                jobRepository.saveAndFlush(job); // Viola a unique de activeProductId se já houver job ativo
+            });
+        } catch (DataIntegrityViolationException e) {
+            throw new ConflictException("Product with id " + productId + " is already being retired.");
+        }
+        executor.execute(() -> run(job));
+        return toStatus(job);
+    }
+
+    public ProductRetirementStatus getStatus(String jobId) {
+        return jobRepository.findById(jobId)
+                .map(this::toStatus)
+                .orElseThrow(() -> new ResourceNotFoundException("Product retirement job not found with id: " + jobId));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow(); // Um job interrompido pode ser reenviado: os lotes já apagados não voltam
+    }
+
+    // --- Execução ---
+
+    private void run(ProductRetirementJob job) {
+        try {
+            job.setState(State.RUNNING);
+            job.setStartedAt(LocalDateTime.now());
+            job.setTotalLicenses(licenseRepository.countByProduct_Id(job.getProductId()));
+            save(job);
+
+            int deleted;
+            do {
+                deleted = deleteChunk(job.getProductId());
+                if (deleted > 0) {
+                    job.setDeletedLicenses(job.getDeletedLicenses() + deleted);
+                    save(job);
+                    if (pauseMillis > 0) {
+                        Thread.sleep(pauseMillis); // Dá espaço para o tráfego de validação entre os lotes
+                    }
+                }
+            } while (deleted > 0);
+
+            transactionTemplate.executeWithoutResult(status -> {
+                productRepository.deleteById(job.getProductId());
+                licenseStatisticsService.recordProductDeleted(job.getProductId());
+            });
+            finish(job, State.COMPLETED, null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            finish(job, State.FAILED, "Interrupted");
+        } catch (RuntimeException e) {
+            log.error("Product retirement {} failed for product {}", job.getId(), job.getProductId(), e);
+            finish(job, State.FAILED, e.getMessage());
+        }
+    }
+
+    private int deleteChunk(Long productId) {
+        Integer deleted = transactionTemplate.execute(status -> {
+            List<Long> licenseIds = licenseRepository.findIdsByProductId(productId, chunkSize);
+            if (licenseIds.isEmpty()) {
+                return 0;
+            }
+            licenseRepository.deleteFeaturesByLicenseIds(licenseIds);
+            return licenseRepository.deleteByIds(licenseIds);
+        });
+        return deleted == null ? 0 : deleted;
+    }
+
+    private void finish(ProductRetirementJob job, State state, String error) {
+        job.setState(state);
+        job.setError(error);
+        job.setFinishedAt(LocalDateTime.now());
+        job.setActiveProductId(null); // Libera o produto para um novo job (ex: reenvio após falha)
+        try {
+            save(job);
+        } catch (RuntimeException e) {
+            // Sem conseguir gravar, o job fica ativo até ser considerado abandonado (stale-after)
+            log.error("Could not record the end of product retirement {}", job.getId(), e);
+        }
+    }
+
+    private void save(ProductRetirementJob job) {
+        job.setUpdatedAt(LocalDateTime.now());
+        jobRepository.save(job);
+    }
+
+    private ProductRetirementStatus toStatus(ProductRetirementJob job) {
+        return new ProductRetirementStatus(job.getId(), job.getProductId(), job.getProductName(), job.getState(),
+                job.getTotalLicenses(), job.getDeletedLicenses(), job.getStartedAt(), job.getFinishedAt(), job.getError());
+    }
+}
@@ -7,8 +7,10 @@ import org.springframework.transaction.annotation.Transactional;
 
 import br.com.sistema.licensing.dtos.ProductRequest;
 import br.com.sistema.licensing.dtos.ProductResponse;
+import br.com.sistema.licensing.exceptions.ConflictException;
 import br.com.sistema.licensing.exceptions.ResourceNotFoundException;
 import br.com.sistema.licensing.model.Product;
+import br.com.sistema.licensing.repositories.LicenseRepository;
 import br.com.sistema.licensing.repositories.ProductRepository;
 import lombok.RequiredArgsConstructor;
 
@@ -17,6 +19,8 @@ import lombok.RequiredArgsConstructor;
 public class ProductService {
 
  private final ProductRepository productRepository;
+ private final LicenseRepository licenseRepository;
+ private final LicenseStatisticsService licenseStatisticsService;
 
  @Transactional
  public ProductResponse createProduct(ProductRequest request) {
@@ -57,6 +61,13 @@ public class ProductService {
          if (productRepository.findByName(request.name()).isPresent()) {
              throw new IllegalArgumentException("Product with name '" + request.name() + "' already exists.");
          }
+         // O prefixo das chaves no formato novo vem do nome: renomear não pode invalidar chaves já emitidas
+         String currentPrefix = LicenseKeyGenerator.prefixFor(product.getName());
+         if (!currentPrefix.equals(LicenseKeyGenerator.prefixFor(request.name()))
+                 && licenseRepository.existsNewFormatKeyWithPrefix(product.getId(), currentPrefix)) {
+             throw new ConflictException("Product '" + product.getName() + "' has license keys with prefix "
+                     + currentPrefix + "; the new name must keep the same key prefix.");
+         }
      }
 
      product.setName(request.name());
@@ -73,6 +84,7 @@ public class ProductService {
          throw new ResourceNotFoundException("Product not found with id: " + id);
      }
      productRepository.deleteById(id);
+     licenseStatisticsService.recordProductDeleted(id); // As licenças do produto são removidas em cascata
  }
 
  // Método auxiliar para obter a entidade Product (ainda necessário para operações que modificam a entidade ou que precisam de seus relacionamentos)
@@ -0,0 +1,11 @@
+-- ===============================
+-- Índices da busca de licenças (GET /api/licenses/search) — PostgreSQL
+-- ===============================
+-- Os índices simples (product_id/status/id, hardware_id/id, expiration_date) são declarados na entidade License
+-- e criados pelo Hibernate. Os abaixo dependem de recursos do PostgreSQL e devem ser aplicados no deploy:
+--   psql -h $POSTGRES_HOST -U $POSTGRES_USER -d $POSTGRES_DB -f license-search-indexes.sql
+-- CONCURRENTLY evita bloquear escritas na tabela durante a criação (não pode rodar dentro de transação).
+
+-- Prefixo de licensedTo: lower(licensed_to) LIKE 'abc%'
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_licenses_licensed_to_prefix
+    ON licenses (lower(licensed_to) text_pattern_ops);
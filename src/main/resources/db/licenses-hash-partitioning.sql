@@ -0,0 +1,86 @@
+-- ===============================
+-- Particionamento da tabela licenses por HASH(license_key) — PostgreSQL (opcional)
+-- ===============================
+-- Converte a tabela licenses em uma tabela particionada com 8 partições por hash da chave da licença.
+-- Aplicar em janela de manutenção, com a aplicação parada:
+--   psql -h $POSTGRES_HOST -U $POSTGRES_USER -d $POSTGRES_DB -f licenses-hash-partitioning.sql
+--
+-- Consequências (leia antes de aplicar):
+-- - O PostgreSQL exige que PK e UNIQUE incluam a chave de partição. Particionar pela própria license_key
+--   mantém UNIQUE(license_key) global no banco: duas criações simultâneas da mesma chave continuam
+--   barradas pela constraint. A PK passa a ser (id, license_key).
+-- - A FK license_features -> licenses(id) é removida (não há mais UNIQUE só em id). Todos os caminhos de
+--   exclusão da aplicação (JPA, aposentadoria de produto e arquivamento) apagam as features explicitamente.
+-- - Depois de aplicar, rode a aplicação com spring.jpa.hibernate.ddl-auto=validate ou none: o 'update'
+--   tentaria recriar a FK license_features -> licenses(id), que o PostgreSQL rejeita sem UNIQUE em id.
+-- - As buscas pela chave (findByLicenseKey em getLicenseByKey, update e delete; /validate e /activate, que
+--   filtram por chave e nome do produto) descartam as demais partições e consultam uma só.
+--   Consultas por produto (listagem, aposentadoria, busca, estatísticas) e o arquivamento por
+--   expiration_date percorrem os índices das 8 partições.
+\set ON_ERROR_STOP on
+
+BEGIN;
+
+-- FKs que apontam para licenses (os nomes gerados pelo Hibernate variam entre ambientes)
+DO $$
+DECLARE
+    fk record;
+BEGIN
+    FOR fk IN
+        SELECT conrelid::regclass AS table_name, conname
+        FROM pg_constraint
+        WHERE contype = 'f' AND confrelid = 'licenses'::regclass
+    LOOP
+        EXECUTE format('ALTER TABLE %s DROP CONSTRAINT %I', fk.table_name, fk.conname);
+    END LOOP;
+END $$;
+
+ALTER TABLE licenses RENAME TO licenses_unpartitioned;
+
+-- O RENAME não renomeia os índices: os nomes criados pelo Hibernate (@Table(indexes)) e pelos scripts de
+-- db/ continuariam ocupados e os CREATE INDEX abaixo falhariam com "relation already exists"
+DO $$
+DECLARE
+    idx record;
+BEGIN
+    FOR idx IN
+        SELECT c.relname
+        FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid
+        WHERE i.indrelid = 'licenses_unpartitioned'::regclass
+    LOOP
+        EXECUTE format('ALTER INDEX %I RENAME TO %I', idx.relname, left(idx.relname, 50) || '_unpart');
+    END LOOP;
+END $$;
+
+CREATE TABLE licenses (
+    LIKE licenses_unpartitioned INCLUDING DEFAULTS INCLUDING IDENTITY
+) PARTITION BY HASH (license_key);
+
+ALTER TABLE licenses ADD CONSTRAINT pk_licenses PRIMARY KEY (id, license_key);
+ALTER TABLE licenses ADD CONSTRAINT uk_licenses_license_key UNIQUE (license_key); -- Também serve às buscas pela chave
+ALTER TABLE licenses ADD CONSTRAINT fk_licenses_product FOREIGN KEY (product_id) REFERENCES products (id);
+
+DO $$
+BEGIN
+    FOR i IN 0..7 LOOP
+        EXECUTE format('CREATE TABLE licenses_p%s PARTITION OF licenses FOR VALUES WITH (MODULUS 8, REMAINDER %s)', i, i);
+    END LOOP;
+END $$;
+
+INSERT INTO licenses SELECT * FROM licenses_unpartitioned;
+
+-- A sequência da coluna identity é nova: continua a partir do maior id existente
+SELECT setval(pg_get_serial_sequence('licenses', 'id'), COALESCE((SELECT max(id) FROM licenses), 0) + 1, false);
+
+-- Índices usados pela aplicação (criados em cada partição)
+CREATE INDEX idx_licenses_product_status_id ON licenses (product_id, status, id);
+CREATE INDEX idx_licenses_hardware_id_id ON licenses (hardware_id, id);
+CREATE INDEX idx_licenses_expiration_date ON licenses (expiration_date);
+CREATE INDEX idx_licenses_licensed_to_prefix ON licenses (lower(licensed_to) text_pattern_ops);
+CREATE INDEX idx_licenses_archivable ON licenses (expiration_date) WHERE status IN ('EXPIRED', 'REVOKED');
+
+DROP TABLE licenses_unpartitioned;
+
+COMMIT;
+
+ANALYZE licenses;
@@ -0,0 +1,109 @@
+package br.com.sistema.licensing.converters;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+
+import br.com.sistema.licensing.dtos.LicenseResponse;
+import br.com.sistema.licensing.model.LicenseStatus;
+
+class LicenseCborHttpMessageConverterTests {
+
+    private static final int ITERATIONS = 200_000;
+
+    private final LicenseCborHttpMessageConverter converter = new LicenseCborHttpMessageConverter();
+
+    // Mesmo formato de datas do ObjectMapper do Spring Boot (ISO-8601 em texto)
+    private final ObjectMapper jsonMapper = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private LicenseResponse sampleResponse() {
+        return new LicenseResponse(
+                "ABC123XYZ789DEF45678",
+                "MeuSistema",
+                "Empresa LTDA",
+                LocalDateTime.of(2024, 1, 1, 0, 0),
+                LocalDateTime.of(2030, 12, 31, 23, 59, 59),
+                LicenseStatus.ACTIVE,
+                Set.of("RELATORIOS", "INTEGRACAO_API"),
+                10,
+                "HW123456",
+                LocalDateTime.of(2024, 1, 15, 10, 30),
+                "License is valid and active."
+        );
+    }
+
+    @Test
+    void encodesFieldIdsDatesAndCodes() throws Exception {
+        LicenseResponse response = sampleResponse();
+        JsonNode tree = new CBORMapper().readTree(converter.encode(response));
+
+        assertEquals("ABC123XYZ789DEF45678", tree.get("0").asText());
+        assertEquals(response.expirationDate().toEpochSecond(ZoneOffset.UTC), tree.get("4").asLong());
+        assertEquals(0, tree.get("5").asInt());
+        assertEquals(2, tree.get("6").size());
+        assertEquals(1, tree.get("10").asInt());
+        assertTrue(tree.get("11") == null);
+    }
+
+    /**
+     * Compara tamanho do payload e custo de serialização com JSON. Fora do build normal:
+     * rode com {@code mvn test -Pbenchmark}.
+     */
+    @Test
+    @Tag("benchmark")
+    void benchmarkAgainstJson() throws Exception {
+        LicenseResponse response = sampleResponse();
+        List<LicenseResponse> page = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            page.add(response);
+        }
+
+        int jsonSize = jsonMapper.writeValueAsBytes(response).length;
+        int cborSize = converter.encode(response).length;
+        int jsonListSize = jsonMapper.writeValueAsBytes(page).length;
+        int cborListSize = converter.encode(page).length;
+        assertTrue(cborSize < jsonSize);
+        assertTrue(cborListSize < jsonListSize);
+
+        long jsonNanos = time(() -> jsonMapper.writeValueAsBytes(response));
+        long cborNanos = time(() -> converter.encode(response));
+
+        System.out.printf("payload (1 licença): json=%d bytes, cbor=%d bytes%n", jsonSize, cborSize);
+        System.out.printf("payload (100 licenças): json=%d bytes, cbor=%d bytes%n", jsonListSize, cborListSize);
+        System.out.printf("serialização: json=%d ns/op, cbor=%d ns/op%n",
+                jsonNanos / ITERATIONS, cborNanos / ITERATIONS);
+    }
+
+    private long time(Encoder encoder) throws Exception {
+        for (int i = 0; i < ITERATIONS; i++) { // aquecimento do JIT
+            encoder.encode();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            encoder.encode();
+        }
+        return System.nanoTime() - start;
+    }
+
+    @FunctionalInterface
+    private interface Encoder {
+        byte[] encode() throws Exception;
+    }
+}
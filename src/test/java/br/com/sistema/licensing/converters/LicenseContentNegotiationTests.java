@@ -0,0 +1,108 @@
+package br.com.sistema.licensing.converters;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+
+import br.com.sistema.licensing.configurations.MessageConverterConfig;
+import br.com.sistema.licensing.controller.LicenseController;
+import br.com.sistema.licensing.dtos.LicenseResponse;
+import br.com.sistema.licensing.dtos.LicenseValidationRequest;
+import br.com.sistema.licensing.model.LicenseStatus;
+import br.com.sistema.licensing.services.LicenseService;
+import br.com.sistema.licensing.services.LicenseStatisticsService;
+import br.com.sistema.licensing.services.LicenseValidationCoalescer;
+
+@WebMvcTest(LicenseController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@Import(MessageConverterConfig.class)
+class LicenseContentNegotiationTests {
+
+    private static final String VALIDATE_BODY = """
+            {"licenseKey": "ABC123XYZ789DEF45678", "productName": "MeuSistema", "hardwareId": "HW123456"}
+            """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private LicenseService licenseService;
+
+    @MockitoBean
+    private LicenseStatisticsService licenseStatisticsService;
+
+    @MockitoBean
+    private LicenseValidationCoalescer licenseValidationCoalescer;
+
+    @BeforeEach
+    void setUp() {
+        LicenseResponse response = new LicenseResponse(
+                "ABC123XYZ789DEF45678",
+                "MeuSistema",
+                "Empresa LTDA",
+                LocalDateTime.of(2024, 1, 1, 0, 0),
+                LocalDateTime.of(2030, 12, 31, 23, 59, 59),
+                LicenseStatus.ACTIVE,
+                Set.of("RELATORIOS"),
+                10,
+                "HW123456",
+                LocalDateTime.of(2024, 1, 15, 10, 30),
+                "License is valid and active."
+        );
+        when(licenseValidationCoalescer.validate(any(LicenseValidationRequest.class))).thenReturn(response);
+        when(licenseService.getLicenseByKey("ABC123XYZ789DEF45678")).thenReturn(response);
+    }
+
+    @Test
+    void respondsWithJsonWithoutAcceptHeader() throws Exception {
+        mockMvc.perform(post("/api/licenses/validate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(VALIDATE_BODY))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.licenseKey").value("ABC123XYZ789DEF45678"));
+    }
+
+    @Test
+    void respondsWithJsonForWildcardAccept() throws Exception {
+        mockMvc.perform(get("/api/licenses/ABC123XYZ789DEF45678").accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void respondsWithCborWhenRequested() throws Exception {
+        byte[] body = mockMvc.perform(post("/api/licenses/validate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(VALIDATE_BODY))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode tree = new CBORMapper().readTree(body);
+        assertEquals("ABC123XYZ789DEF45678", tree.get("0").asText());
+        assertEquals(1, tree.get("10").asInt());
+    }
+}
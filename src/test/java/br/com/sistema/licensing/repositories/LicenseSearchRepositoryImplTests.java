@@ -0,0 +1,122 @@
+package br.com.sistema.licensing.repositories;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyChar;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import br.com.sistema.licensing.dtos.LicenseSearchRequest;
+import br.com.sistema.licensing.dtos.LicenseSummary;
+import br.com.sistema.licensing.model.License;
+import br.com.sistema.licensing.model.LicenseStatus;
+import br.com.sistema.licensing.model.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+@SuppressWarnings("unchecked")
+class LicenseSearchRepositoryImplTests {
+
+    private final EntityManager entityManager = mock(EntityManager.class);
+    private final CriteriaBuilder cb = mock(CriteriaBuilder.class);
+    private final CriteriaQuery<LicenseSummary> query = mock(CriteriaQuery.class, RETURNS_SELF);
+    private final TypedQuery<LicenseSummary> typedQuery = mock(TypedQuery.class, RETURNS_SELF);
+    private final Root<License> license = mock(Root.class);
+    private final Join<License, Product> product = mock(Join.class);
+
+    private final Path<String> licensedTo = mock(Path.class);
+    private final Path<String> hardwareId = mock(Path.class);
+    private final Path<LicenseStatus> status = mock(Path.class);
+    private final Path<LocalDateTime> expirationDate = mock(Path.class);
+    private final Path<Long> id = mock(Path.class);
+    private final Path<String> productName = mock(Path.class);
+    private final Expression<String> lowerLicensedTo = mock(Expression.class);
+
+    private final LicenseSearchRepositoryImpl repository = new LicenseSearchRepositoryImpl();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(repository, "entityManager", entityManager);
+        when(entityManager.getCriteriaBuilder()).thenReturn(cb);
+        when(cb.createQuery(LicenseSummary.class)).thenReturn(query);
+        when(query.from(License.class)).thenReturn(license);
+        when(license.<Product, Product>join("product")).thenReturn((Join) product);
+        when(license.get("licensedTo")).thenReturn((Path) licensedTo);
+        when(license.get("hardwareId")).thenReturn((Path) hardwareId);
+        when(license.get("status")).thenReturn((Path) status);
+        when(license.get("expirationDate")).thenReturn((Path) expirationDate);
+        when(license.get("id")).thenReturn((Path) id);
+        when(license.get("licenseKey")).thenReturn(mock(Path.class));
+        when(product.get("name")).thenReturn((Path) productName);
+        when(cb.lower(licensedTo)).thenReturn(lowerLicensedTo);
+        when(entityManager.createQuery(query)).thenReturn(typedQuery);
+        when(typedQuery.getResultList()).thenReturn(List.of());
+    }
+
+    @Test
+    void escapesLikeWildcardsInLicensedToPrefix() {
+        Predicate like = mock(Predicate.class);
+        when(cb.like(lowerLicensedTo, "50\\%\\_off\\\\x%", '\\')).thenReturn(like);
+
+        repository.search(request("50%_OFF\\x", null, null, null, null, null, null), 11);
+
+        verify(query).where(like);
+        verify(typedQuery).setMaxResults(11);
+    }
+
+    @Test
+    void combinesEveryInformedFilterWithKeysetCursor() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2030, 2, 1, 0, 0);
+        Predicate byLicensedTo = mock(Predicate.class);
+        Predicate byProduct = mock(Predicate.class);
+        Predicate byStatus = mock(Predicate.class);
+        Predicate byHardware = mock(Predicate.class);
+        Predicate byExpiresFrom = mock(Predicate.class);
+        Predicate byExpiresTo = mock(Predicate.class);
+        Predicate afterCursor = mock(Predicate.class);
+        when(cb.like(lowerLicensedTo, "empresa%", '\\')).thenReturn(byLicensedTo);
+        when(cb.equal(productName, "CRMPro")).thenReturn(byProduct);
+        when(cb.equal(status, LicenseStatus.ACTIVE)).thenReturn(byStatus);
+        when(cb.equal(hardwareId, "HW1")).thenReturn(byHardware);
+        when(cb.greaterThanOrEqualTo(expirationDate, from)).thenReturn(byExpiresFrom);
+        when(cb.lessThanOrEqualTo(expirationDate, to)).thenReturn(byExpiresTo);
+        when(cb.greaterThan(id, 500L)).thenReturn(afterCursor);
+
+        repository.search(new LicenseSearchRequest("Empresa", "CRMPro", LicenseStatus.ACTIVE, "HW1", from, to, 500L, 50), 51);
+
+        verify(query).where(byLicensedTo, byProduct, byStatus, byHardware, byExpiresFrom, byExpiresTo, afterCursor);
+        verify(cb).asc(id);
+    }
+
+    @Test
+    void ignoresBlankFilters() {
+        repository.search(request(" ", "", null, "  ", null, null, null), 51);
+
+        verify(cb, never()).like(any(Expression.class), anyString(), anyChar());
+        verify(cb, never()).equal(any(Expression.class), any(Object.class));
+        verify(query).where(new Predicate[0]);
+    }
+
+    private LicenseSearchRequest request(String licensedTo, String productName, LicenseStatus status, String hardwareId,
+                                         LocalDateTime expiresFrom, LocalDateTime expiresTo, Long after) {
+        return new LicenseSearchRequest(licensedTo, productName, status, hardwareId, expiresFrom, expiresTo, after, null);
+    }
+}
@@ -0,0 +1,76 @@
+package br.com.sistema.licensing.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import br.com.sistema.licensing.repositories.ArchivedLicenseRepository;
+import br.com.sistema.licensing.repositories.LicenseRepository;
+
+class LicenseArchivalServiceTests {
+
+    private final LicenseRepository licenseRepository = mock(LicenseRepository.class);
+    private final ArchivedLicenseRepository archivedLicenseRepository = mock(ArchivedLicenseRepository.class);
+    private final LicenseStatisticsService licenseStatisticsService = mock(LicenseStatisticsService.class);
+    private final LicenseArchivalService service = new LicenseArchivalService(licenseRepository, archivedLicenseRepository,
+            licenseStatisticsService, mock(PlatformTransactionManager.class), 365, 2);
+
+    @Test
+    void archivesBatchesUntilNoneLeftThenReconciles() {
+        when(licenseRepository.findArchivableIds(any(LocalDateTime.class), eq(2)))
+                .thenReturn(List.of(1L, 2L), List.of(3L), List.of());
+        when(licenseRepository.deleteByIds(List.of(1L, 2L))).thenReturn(2);
+        when(licenseRepository.deleteByIds(List.of(3L))).thenReturn(1);
+
+        assertEquals(3, service.archiveExpiredLicenses());
+
+        verify(licenseRepository, times(3)).findArchivableIds(any(LocalDateTime.class), eq(2));
+        InOrder order = inOrder(archivedLicenseRepository, licenseRepository, licenseStatisticsService);
+        for (List<Long> batch : List.of(List.of(1L, 2L), List.of(3L))) {
+            // Copia antes de apagar, sempre o mesmo lote de ids
+            order.verify(archivedLicenseRepository).copyLicenses(batch);
+            order.verify(archivedLicenseRepository).copyFeatures(batch);
+            order.verify(licenseRepository).deleteFeaturesByLicenseIds(batch);
+            order.verify(licenseRepository).deleteByIds(batch);
+        }
+        order.verify(licenseStatisticsService).reconcile();
+    }
+
+    @Test
+    void cutoffRespectsRetentionWindow() {
+        when(licenseRepository.findArchivableIds(any(LocalDateTime.class), anyInt())).thenReturn(List.of());
+        LocalDateTime before = LocalDateTime.now().minusDays(365);
+
+        service.archiveExpiredLicenses();
+
+        verify(licenseRepository).findArchivableIds(
+                argThat(cutoff -> !cutoff.isBefore(before)
+                        && !cutoff.isAfter(LocalDateTime.now().minusDays(365))), eq(2));
+    }
+
+    @Test
+    void nothingToArchiveSkipsReconcile() {
+        when(licenseRepository.findArchivableIds(any(LocalDateTime.class), anyInt())).thenReturn(List.of());
+
+        assertEquals(0, service.archiveExpiredLicenses());
+
+        verify(archivedLicenseRepository, never()).copyLicenses(any());
+        verify(licenseRepository, never()).deleteByIds(any());
+        verify(licenseStatisticsService, never()).reconcile();
+    }
+}
@@ -0,0 +1,121 @@
+package br.com.sistema.licensing.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+class LicenseKeyGeneratorTests {
+
+    private final LicenseKeyGenerator generator = new LicenseKeyGenerator(false);
+
+    @Test
+    void generatedKeysCarryPrefixAndValidChecksum() {
+        String key = generator.generate("MeuSistemaFinanceiro");
+
+        assertEquals(29, key.length());
+        assertTrue(key.startsWith("MEUS-"));
+        assertTrue(generator.isWellFormed(key));
+    }
+
+    @Test
+    void rejectsTyposAndJunk() {
+        String key = generator.generate("CRMPro");
+        char[] typo = key.toCharArray();
+        typo[10] = typo[10] == 'A' ? 'B' : 'A';
+
+        assertFalse(generator.isWellFormed(new String(typo)));
+        assertFalse(generator.isWellFormed(key.toLowerCase()));
+        assertFalse(generator.isWellFormed("not a license key"));
+        assertFalse(generator.isWellFormed(null));
+    }
+
+    @Test
+    void rejectsNewFormatKeysOfAnotherProduct() {
+        String key = generator.generate("CRMPro");
+        String legacy = "0F3A9C2B7D1E4F5A6B7C";
+
+        assertTrue(generator.isWellFormedFor(key, "crmpro"));
+        assertFalse(generator.isWellFormedFor(key, "MeuSistema"));
+        assertTrue(new LicenseKeyGenerator(true).isWellFormedFor(legacy, "MeuSistema"));
+        assertTrue(generator.hasProductPrefix(legacy, "MeuSistema")); // Chaves antigas não têm prefixo
+        assertFalse(generator.hasProductPrefix(key, "MeuSistema"));
+    }
+
+    @Test
+    void acceptsLegacyKeysOnlyWhenEnabled() {
+        String legacy = "0F3A9C2B7D1E4F5A6B7C";
+
+        assertFalse(generator.isWellFormed(legacy));
+        assertTrue(new LicenseKeyGenerator(true).isWellFormed(legacy));
+    }
+
+    @Test
+    void prefixIsPaddedForShortNames() {
+        assertEquals("CRMX", LicenseKeyGenerator.prefixFor("crm"));
+        assertEquals("XXXX", LicenseKeyGenerator.prefixFor("---"));
+    }
+
+    @Test
+    void batchHasNoDuplicates() {
+        List<String> keys = generator.generateBatch("CRMPro", 50_000);
+
+        assertEquals(50_000, keys.size());
+        assertEquals(50_000, new HashSet<>(keys).size());
+    }
+
+    /**
+     * Vazão de geração com várias threads, comparada ao UUID truncado anterior ({@code mvn test -Pbenchmark}).
+     */
+    @Test
+    @Tag("benchmark")
+    void benchmarkGenerationThroughput() throws Exception {
+        int threads = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+        int perThread = 100_000;
+
+        Supplier<String> uuidKey = () -> UUID.randomUUID().toString().replace("-", "").substring(0, 20).toUpperCase();
+        Supplier<String> checksumKey = () -> generator.generate("MeuSistema");
+
+        throughput(threads, perThread, uuidKey); // aquecimento do JIT
+        throughput(threads, perThread, checksumKey);
+
+        System.out.printf("%d threads: uuid truncado=%.0f chaves/s, novo formato=%.0f chaves/s%n",
+                threads, throughput(threads, perThread, uuidKey), throughput(threads, perThread, checksumKey));
+    }
+
+    private double throughput(int threads, int perThread, Supplier<String> keySupplier) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Callable<Integer>> tasks = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                tasks.add(() -> {
+                    int length = 0;
+                    for (int i = 0; i < perThread; i++) {
+                        length += keySupplier.get().length();
+                    }
+                    return length;
+                });
+            }
+            long start = System.nanoTime();
+            for (Future<Integer> result : executor.invokeAll(tasks)) {
+                result.get();
+            }
+            long elapsed = System.nanoTime() - start;
+            return (double) threads * perThread / (elapsed / 1_000_000_000.0);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package br.com.sistema.licensing.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import br.com.sistema.licensing.dtos.LicenseSearchRequest;
+import br.com.sistema.licensing.dtos.LicenseSearchResponse;
+import br.com.sistema.licensing.dtos.LicenseSummary;
+import br.com.sistema.licensing.model.LicenseStatus;
+import br.com.sistema.licensing.repositories.ArchivedLicenseRepository;
+import br.com.sistema.licensing.repositories.LicenseRepository;
+
+class LicenseServiceSearchTests {
+
+    private final LicenseRepository licenseRepository = mock(LicenseRepository.class);
+    private final LicenseService service = new LicenseService(
+            licenseRepository,
+            mock(ArchivedLicenseRepository.class),
+            mock(ProductService.class),
+            new LicenseKeyGenerator(true),
+            mock(LicenseStatisticsService.class));
+
+    @Test
+    void extraRowMeansAnotherPageAndCursorIsLastIdOfThisPage() {
+        LicenseSearchRequest request = request(10L, 2);
+        when(licenseRepository.search(request, 3)).thenReturn(summaries(11, 12, 13));
+
+        LicenseSearchResponse response = service.searchLicenses(request);
+
+        assertEquals(List.of(11L, 12L), response.items().stream().map(LicenseSummary::id).toList());
+        assertEquals(12L, response.nextCursor());
+    }
+
+    @Test
+    void fullLastPageHasNoCursor() {
+        LicenseSearchRequest request = request(12L, 2);
+        when(licenseRepository.search(request, 3)).thenReturn(summaries(13, 14));
+
+        LicenseSearchResponse response = service.searchLicenses(request);
+
+        assertEquals(2, response.items().size());
+        assertNull(response.nextCursor());
+    }
+
+    @Test
+    void emptyPageHasNoCursor() {
+        LicenseSearchRequest request = request(14L, 2);
+        when(licenseRepository.search(request, 3)).thenReturn(List.of());
+
+        LicenseSearchResponse response = service.searchLicenses(request);
+
+        assertEquals(0, response.items().size());
+        assertNull(response.nextCursor());
+    }
+
+    @Test
+    void usesDefaultPageSizeWhenNotInformed() {
+        LicenseSearchRequest request = request(null, null);
+        when(licenseRepository.search(any(), eq(51))).thenReturn(List.of());
+
+        service.searchLicenses(request);
+
+        verify(licenseRepository).search(request, 51);
+    }
+
+    // --- Métodos Auxiliares ---
+
+    private LicenseSearchRequest request(Long after, Integer size) {
+        return new LicenseSearchRequest(null, "CRMPro", LicenseStatus.ACTIVE, null, null, null, after, size);
+    }
+
+    private List<LicenseSummary> summaries(long... ids) {
+        List<LicenseSummary> summaries = new ArrayList<>();
+        for (long id : ids) {
+            summaries.add(new LicenseSummary(id, "KEY-" + id, "CRMPro", "Empresa " + id, LicenseStatus.ACTIVE,
+                    LocalDateTime.of(2030, 1, 1, 0, 0), null));
+        }
+        return summaries;
+    }
+}
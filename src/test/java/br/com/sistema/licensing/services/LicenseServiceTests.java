@@ -0,0 +1,136 @@
+package br.com.sistema.licensing.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import br.com.sistema.licensing.dtos.LicenseRequest;
+import br.com.sistema.licensing.dtos.LicenseResponse;
+import br.com.sistema.licensing.dtos.LicenseValidationRequest;
+import br.com.sistema.licensing.exceptions.LicenseException;
+import br.com.sistema.licensing.exceptions.ResourceNotFoundException;
+import br.com.sistema.licensing.model.ArchivedLicense;
+import br.com.sistema.licensing.model.License;
+import br.com.sistema.licensing.model.LicenseStatus;
+import br.com.sistema.licensing.model.Product;
+import br.com.sistema.licensing.repositories.ArchivedLicenseRepository;
+import br.com.sistema.licensing.repositories.LicenseRepository;
+
+class LicenseServiceTests {
+
+    private static final String KEY = "0F3A9C2B7D1E4F5A6B7C";
+
+    private final LicenseRepository licenseRepository = mock(LicenseRepository.class);
+    private final ArchivedLicenseRepository archivedLicenseRepository = mock(ArchivedLicenseRepository.class);
+    private final ProductService productService = mock(ProductService.class);
+    private final LicenseStatisticsService licenseStatisticsService = mock(LicenseStatisticsService.class);
+    private final LicenseService service = new LicenseService(licenseRepository, archivedLicenseRepository,
+            productService, new LicenseKeyGenerator(true), licenseStatisticsService);
+
+    private final Product product = new Product(1L, "CRMPro", "CRM", null);
+    private final LicenseValidationRequest request = new LicenseValidationRequest(KEY, "CRMPro", "HW1");
+
+    // --- Passagem para EXPIRED ---
+
+    @Test
+    void validateMarksOverdueLicenseExpiredAndRecordsTransition() {
+        License license = license(LicenseStatus.ACTIVE, LocalDateTime.now().minusDays(1));
+        when(licenseRepository.findByLicenseKeyAndProduct_Name(KEY, "CRMPro")).thenReturn(Optional.of(license));
+        when(licenseRepository.markExpired(10L, LicenseStatus.ACTIVE)).thenReturn(1);
+
+        LicenseResponse response = service.validateLicense(request);
+
+        assertEquals(LicenseStatus.EXPIRED, response.status());
+        assertEquals("License has expired.", response.message());
+        assertEquals(LicenseStatus.ACTIVE, license.getStatus()); // A entidade gerenciada não fica suja
+        verify(licenseStatisticsService).recordChange(
+                new LicenseStatisticsService.Entry(1L, LicenseStatus.ACTIVE, license.getExpirationDate()),
+                new LicenseStatisticsService.Entry(1L, LicenseStatus.EXPIRED, license.getExpirationDate()));
+    }
+
+    @Test
+    void transitionAlreadyMadeByAnotherCallerIsNotCountedAgain() {
+        License license = license(LicenseStatus.ACTIVE, LocalDateTime.now().minusDays(1));
+        when(licenseRepository.findByLicenseKeyAndProduct_Name(KEY, "CRMPro")).thenReturn(Optional.of(license));
+        when(licenseRepository.markExpired(10L, LicenseStatus.ACTIVE)).thenReturn(0);
+
+        assertEquals(LicenseStatus.EXPIRED, service.validateLicense(request).status());
+        verify(licenseStatisticsService, never()).recordChange(any(), any());
+    }
+
+    @Test
+    void activateMarksOverdueLicenseExpiredBeforeRejecting() {
+        License license = license(LicenseStatus.PENDING_ACTIVATION, LocalDateTime.now().minusDays(1));
+        when(licenseRepository.findByLicenseKeyAndProduct_Name(KEY, "CRMPro")).thenReturn(Optional.of(license));
+        when(licenseRepository.markExpired(10L, LicenseStatus.PENDING_ACTIVATION)).thenReturn(1);
+
+        assertThrows(LicenseException.class, () -> service.activateLicense(request));
+        verify(licenseRepository).markExpired(10L, LicenseStatus.PENDING_ACTIVATION);
+        verify(licenseRepository, never()).save(any());
+    }
+
+    // --- Licenças arquivadas ---
+
+    @Test
+    void getLicenseByKeyFallsBackToArchive() {
+        ArchivedLicense archived = new ArchivedLicense(10L, KEY, 1L, "CRMPro", "Empresa LTDA",
+                LocalDateTime.now().minusYears(3), LocalDateTime.now().minusYears(2), LicenseStatus.EXPIRED,
+                Set.of("RELATORIOS"), 10, "HW1", null, LocalDateTime.now().minusYears(1));
+        when(licenseRepository.findByLicenseKey(KEY)).thenReturn(Optional.empty());
+        when(archivedLicenseRepository.findByLicenseKey(KEY)).thenReturn(Optional.of(archived));
+
+        LicenseResponse response = service.getLicenseByKey(KEY);
+
+        assertEquals(KEY, response.licenseKey());
+        assertEquals("CRMPro", response.productName());
+        assertEquals(LicenseStatus.EXPIRED, response.status());
+        assertEquals("License retrieved from archive.", response.message());
+    }
+
+    @Test
+    void getLicenseByKeyNotFoundAnywhere() {
+        when(licenseRepository.findByLicenseKey(KEY)).thenReturn(Optional.empty());
+        when(archivedLicenseRepository.findByLicenseKey(KEY)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> service.getLicenseByKey(KEY));
+    }
+
+    @Test
+    void createRejectsKeyAlreadyUsedByArchivedLicense() {
+        when(productService.getProductEntityByName("CRMPro")).thenReturn(product);
+        when(licenseRepository.findByLicenseKey(KEY)).thenReturn(Optional.empty());
+        when(archivedLicenseRepository.existsByLicenseKey(KEY)).thenReturn(true);
+        LicenseRequest create = new LicenseRequest("CRMPro", KEY, "Empresa LTDA", LocalDateTime.now(),
+                LocalDateTime.now().plusYears(1), LicenseStatus.PENDING_ACTIVATION, Set.of(), 10, null);
+
+        LicenseException exception = assertThrows(LicenseException.class, () -> service.createLicense(create));
+        assertEquals("License key already exists: " + KEY, exception.getMessage());
+        verify(licenseRepository, never()).save(any());
+    }
+
+    // --- Métodos Auxiliares ---
+
+    private License license(LicenseStatus status, LocalDateTime expirationDate) {
+        License license = new License();
+        license.setId(10L);
+        license.setLicenseKey(KEY);
+        license.setProduct(product);
+        license.setLicensedTo("Empresa LTDA");
+        license.setIssueDate(LocalDateTime.now().minusYears(1));
+        license.setExpirationDate(expirationDate);
+        license.setStatus(status);
+        license.setEnabledFeatures(Set.of("RELATORIOS"));
+        license.setHardwareId("HW1");
+        return license;
+    }
+}
@@ -0,0 +1,77 @@
+package br.com.sistema.licensing.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import br.com.sistema.licensing.dtos.LicenseStatisticsResponse;
+import br.com.sistema.licensing.dtos.ProductLicenseStatistics;
+import br.com.sistema.licensing.dtos.ProductResponse;
+import br.com.sistema.licensing.model.LicenseStatus;
+import br.com.sistema.licensing.repositories.LicenseRepository;
+import br.com.sistema.licensing.repositories.ProductRepository;
+
+class LicenseStatisticsServiceTests {
+
+    private final LicenseRepository licenseRepository = mock(LicenseRepository.class);
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final LicenseStatisticsService service = new LicenseStatisticsService(licenseRepository, productRepository);
+
+    private final LocalDate currentWeek = LocalDate.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+
+    @Test
+    void bootstrapsOnceAndAppliesTransitionsIncrementally() {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[] { 1L, "ACTIVE", java.sql.Date.valueOf(currentWeek.plusWeeks(1)), 3L });
+        rows.add(new Object[] { 1L, "EXPIRED", java.sql.Date.valueOf(currentWeek.minusWeeks(4)), 2L });
+        when(licenseRepository.aggregateByProductStatusAndExpirationWeek()).thenReturn(rows);
+        when(productRepository.findAllProductResponses()).thenReturn(List.of(new ProductResponse(1L, "CRMPro", "CRM")));
+
+        service.bootstrap();
+
+        LocalDateTime nextWeek = currentWeek.plusWeeks(1).atTime(12, 0);
+        LicenseStatisticsService.Entry pending = new LicenseStatisticsService.Entry(1L, LicenseStatus.PENDING_ACTIVATION, nextWeek);
+        LicenseStatisticsService.Entry active = new LicenseStatisticsService.Entry(1L, LicenseStatus.ACTIVE, nextWeek);
+        LicenseStatisticsService.Entry revoked = new LicenseStatisticsService.Entry(1L, LicenseStatus.REVOKED, nextWeek);
+        service.recordChange(null, pending);  // criação
+        service.recordChange(pending, active); // ativação
+        service.recordChange(active, revoked); // revogação
+
+        ProductLicenseStatistics stats = service.getStatistics(4).products().get(0);
+
+        assertEquals(3L, stats.countsByStatus().get(LicenseStatus.ACTIVE));
+        assertEquals(2L, stats.countsByStatus().get(LicenseStatus.EXPIRED));
+        assertEquals(1L, stats.countsByStatus().get(LicenseStatus.REVOKED));
+        assertEquals(0L, stats.countsByStatus().get(LicenseStatus.PENDING_ACTIVATION));
+        assertEquals(6L, stats.total());
+        assertEquals(4, stats.upcomingExpirations().size());
+        assertEquals(3L, stats.upcomingExpirations().get(1).count());
+        verify(licenseRepository, times(1)).aggregateByProductStatusAndExpirationWeek();
+    }
+
+    @Test
+    void reconciliationReplacesDriftedCounters() {
+        when(licenseRepository.aggregateByProductStatusAndExpirationWeek())
+                .thenReturn(new ArrayList<>())
+                .thenReturn(List.<Object[]>of(new Object[] { 1L, "ACTIVE", java.sql.Date.valueOf(currentWeek), 5L }));
+        when(productRepository.findAllProductResponses()).thenReturn(List.of(new ProductResponse(1L, "CRMPro", "CRM")));
+
+        service.bootstrap();
+        service.reconcile();
+
+        LicenseStatisticsResponse response = service.getStatistics(1);
+        assertEquals(5L, response.products().get(0).countsByStatus().get(LicenseStatus.ACTIVE));
+        assertEquals(5L, response.products().get(0).upcomingExpirations().get(0).count());
+    }
+}
@@ -0,0 +1,171 @@
+package br.com.sistema.licensing.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import br.com.sistema.licensing.dtos.LicenseResponse;
+import br.com.sistema.licensing.dtos.LicenseValidationRequest;
+import br.com.sistema.licensing.dtos.ValidationCoalescingStats;
+import br.com.sistema.licensing.exceptions.ResourceNotFoundException;
+import br.com.sistema.licensing.exceptions.ServiceUnavailableException;
+import br.com.sistema.licensing.model.LicenseStatus;
+
+class LicenseValidationCoalescerTests {
+
+    private static final int CALLERS = 200;
+
+    private final LicenseService licenseService = mock(LicenseService.class);
+    private final LicenseValidationCoalescer coalescer = new LicenseValidationCoalescer(licenseService, 10_000);
+    private final LicenseValidationRequest request = new LicenseValidationRequest("ABC123XYZ789", "MeuSistema", "HW1");
+
+    @Test
+    void thunderingHerdCollapsesIntoOneLookup() throws Exception {
+        LicenseResponse response = new LicenseResponse("ABC123XYZ789", "MeuSistema", "Empresa LTDA",
+                LocalDateTime.now().minusDays(1), LocalDateTime.now().plusYears(1), LicenseStatus.ACTIVE,
+                Set.of(), 10, "HW1", LocalDateTime.now(), "License is valid and active.");
+        CountDownLatch release = new CountDownLatch(1);
+        when(licenseService.validateLicense(any())).thenAnswer(invocation -> {
+            release.await(); // Segura a consulta "no banco" até todos os chamadores chegarem
+            return response;
+        });
+
+        List<Future<LicenseResponse>> results = herd(() -> coalescer.validate(request));
+        awaitCoalesced(CALLERS - 1);
+        release.countDown();
+
+        for (Future<LicenseResponse> result : results) {
+            assertSame(response, result.get(10, TimeUnit.SECONDS));
+        }
+        verify(licenseService, times(1)).validateLicense(any());
+
+        ValidationCoalescingStats stats = coalescer.getStats();
+        assertEquals(CALLERS, stats.requests());
+        assertEquals(1, stats.lookups());
+        assertEquals((double) (CALLERS - 1) / CALLERS, stats.coalescingRatio(), 1e-9);
+    }
+
+    @Test
+    void failureIsPropagatedToEveryWaitingCaller() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(licenseService.validateLicense(any())).thenAnswer(invocation -> {
+            release.await();
+            throw new ResourceNotFoundException("License not found for key and product.");
+        });
+
+        List<Future<LicenseResponse>> results = herd(() -> coalescer.validate(request));
+        awaitCoalesced(CALLERS - 1);
+        release.countDown();
+
+        for (Future<LicenseResponse> result : results) {
+            try {
+                result.get(10, TimeUnit.SECONDS);
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof ResourceNotFoundException);
+                continue;
+            }
+            throw new AssertionError("Expected ResourceNotFoundException");
+        }
+        verify(licenseService, times(1)).validateLicense(any());
+    }
+
+    @Test
+    void waitIsBoundedByTimeout() throws Exception {
+        LicenseValidationCoalescer impatient = new LicenseValidationCoalescer(licenseService, 50);
+        CountDownLatch release = new CountDownLatch(1);
+        when(licenseService.validateLicense(any())).thenAnswer(invocation -> {
+            release.await(); // Líder travado
+            return null;
+        });
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<LicenseResponse> leader = executor.submit(() -> impatient.validate(request));
+            while (impatient.getStats().lookups() == 0) {
+                Thread.onSpinWait();
+            }
+            // Desiste de esperar após 50 ms, sem consultar sozinho
+            assertThrows(ServiceUnavailableException.class, () -> impatient.validate(request));
+
+            ValidationCoalescingStats stats = impatient.getStats();
+            assertEquals(1, stats.timeouts());
+            assertEquals(1, stats.lookups());
+            assertEquals(0, stats.coalesced()); // Quem desistiu não conta como agrupado
+            assertEquals(0.0, stats.coalescingRatio(), 1e-9);
+            release.countDown();
+            leader.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void timedOutHerdDoesNotHitDatabase() throws Exception {
+        LicenseValidationCoalescer impatient = new LicenseValidationCoalescer(licenseService, 50);
+        CountDownLatch release = new CountDownLatch(1);
+        when(licenseService.validateLicense(any())).thenAnswer(invocation -> {
+            release.await(); // Banco lento: o líder passa do timeout de todos
+            return null;
+        });
+
+        List<Future<LicenseResponse>> results = herd(() -> impatient.validate(request));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (impatient.getStats().timeouts() < CALLERS - 1 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+
+        int unavailable = 0;
+        for (Future<LicenseResponse> result : results) {
+            try {
+                result.get(10, TimeUnit.SECONDS);
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof ServiceUnavailableException);
+                unavailable++;
+            }
+        }
+        ValidationCoalescingStats stats = impatient.getStats();
+        assertEquals(CALLERS - 1, unavailable);
+        assertEquals(CALLERS - 1, stats.timeouts());
+        assertTrue(stats.lookups() <= 2, "lookups: " + stats.lookups());
+        verify(licenseService, times(1)).validateLicense(any());
+    }
+
+    // --- Métodos Auxiliares ---
+
+    private List<Future<LicenseResponse>> herd(java.util.concurrent.Callable<LicenseResponse> call) {
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        List<Future<LicenseResponse>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(call));
+        }
+        executor.shutdown();
+        return results;
+    }
+
+    private void awaitCoalesced(long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (coalescer.getStats().coalesced() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
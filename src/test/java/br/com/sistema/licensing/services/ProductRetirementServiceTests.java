@@ -0,0 +1,135 @@
+package br.com.sistema.licensing.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import br.com.sistema.licensing.dtos.ProductRetirementStatus;
+import br.com.sistema.licensing.dtos.ProductRetirementStatus.State;
+import br.com.sistema.licensing.exceptions.ConflictException;
+import br.com.sistema.licensing.model.Product;
+import br.com.sistema.licensing.model.ProductRetirementJob;
+import br.com.sistema.licensing.repositories.LicenseRepository;
+import br.com.sistema.licensing.repositories.ProductRepository;
+import br.com.sistema.licensing.repositories.ProductRetirementJobRepository;
+
+class ProductRetirementServiceTests {
+
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final LicenseRepository licenseRepository = mock(LicenseRepository.class);
+    private final ProductRetirementJobRepository jobRepository = mock(ProductRetirementJobRepository.class);
+    private final LicenseStatisticsService licenseStatisticsService = mock(LicenseStatisticsService.class);
+    private final ProductRetirementService service = new ProductRetirementService(productRepository, licenseRepository,
+            jobRepository, licenseStatisticsService, mock(PlatformTransactionManager.class), 2, 0, Duration.ofMinutes(30));
+
+    // Cópia do job a cada save: o executor reaproveita a mesma instância
+    private final List<ProductRetirementJob> saved = new CopyOnWriteArrayList<>();
+    private final CountDownLatch finished = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        when(productRepository.findById(1L)).thenReturn(Optional.of(new Product(1L, "CRMPro", "CRM", null)));
+        when(jobRepository.save(any(ProductRetirementJob.class))).thenAnswer(invocation -> {
+            ProductRetirementJob job = invocation.getArgument(0);
+            saved.add(copy(job));
+            if (job.getFinishedAt() != null) {
+                finished.countDown();
+            }
+            return job;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void deletesInChunksReportingProgressUntilCompleted() throws InterruptedException {
+        when(licenseRepository.countByProduct_Id(1L)).thenReturn(3L);
+        when(licenseRepository.findIdsByProductId(1L, 2)).thenReturn(List.of(10L, 11L), List.of(12L), List.of());
+        when(licenseRepository.deleteByIds(any())).thenReturn(2, 1);
+
+        ProductRetirementStatus queued = service.retireProduct(1L);
+
+        assertEquals(State.QUEUED, queued.state());
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(State.RUNNING, State.RUNNING, State.RUNNING, State.COMPLETED),
+                saved.stream().map(ProductRetirementJob::getState).toList());
+        assertEquals(List.of(0L, 2L, 3L, 3L), saved.stream().map(ProductRetirementJob::getDeletedLicenses).toList());
+
+        ProductRetirementJob completed = saved.get(saved.size() - 1);
+        assertEquals(3L, completed.getTotalLicenses());
+        assertNull(completed.getActiveProductId()); // Libera o produto para um novo job
+        assertNull(completed.getError());
+        verify(productRepository).deleteById(1L);
+        verify(licenseStatisticsService).recordProductDeleted(1L);
+    }
+
+    @Test
+    void repositoryFailureMarksJobFailedAndKeepsProduct() throws InterruptedException {
+        when(licenseRepository.countByProduct_Id(1L)).thenReturn(3L);
+        when(licenseRepository.findIdsByProductId(1L, 2)).thenReturn(List.of(10L, 11L));
+        when(licenseRepository.deleteByIds(any())).thenThrow(new QueryTimeoutException("lock timeout"));
+
+        service.retireProduct(1L);
+
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        ProductRetirementJob failed = saved.get(saved.size() - 1);
+        assertEquals(State.FAILED, failed.getState());
+        assertEquals("lock timeout", failed.getError());
+        assertEquals(0L, failed.getDeletedLicenses());
+        assertNull(failed.getActiveProductId());
+        verify(productRepository, never()).deleteById(any());
+    }
+
+    @Test
+    void rejectsSecondRetirementOfSameProductWithConflict() {
+        when(jobRepository.saveAndFlush(any(ProductRetirementJob.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_active_product_id"));
+
+        assertThrows(ConflictException.class, () -> service.retireProduct(1L));
+        verify(licenseRepository, never()).findIdsByProductId(any(), anyInt());
+    }
+
+    @Test
+    void releasesStaleJobBeforeQueuingNewOne() {
+        when(licenseRepository.findIdsByProductId(1L, 2)).thenReturn(List.of());
+
+        ProductRetirementStatus queued = service.retireProduct(1L);
+
+        verify(jobRepository).abandonStale(any(), any(), any());
+        verify(jobRepository).saveAndFlush(any(ProductRetirementJob.class));
+        assertEquals(1L, queued.productId());
+        assertEquals("CRMPro", queued.productName());
+    }
+
+    // --- Métodos Auxiliares ---
+
+    private ProductRetirementJob copy(ProductRetirementJob job) {
+        return new ProductRetirementJob(job.getId(), job.getProductId(), job.getProductName(), job.getActiveProductId(),
+                job.getState(), job.getTotalLicenses(), job.getDeletedLicenses(), job.getStartedAt(),
+                job.getFinishedAt(), job.getUpdatedAt(), job.getError());
+    }
+}
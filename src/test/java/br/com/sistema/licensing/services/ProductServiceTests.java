@@ -0,0 +1,58 @@
+package br.com.sistema.licensing.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import br.com.sistema.licensing.dtos.ProductRequest;
+import br.com.sistema.licensing.exceptions.ConflictException;
+import br.com.sistema.licensing.model.Product;
+import br.com.sistema.licensing.repositories.LicenseRepository;
+import br.com.sistema.licensing.repositories.ProductRepository;
+
+class ProductServiceTests {
+
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final LicenseRepository licenseRepository = mock(LicenseRepository.class);
+    private final ProductService service = new ProductService(productRepository, licenseRepository,
+            mock(LicenseStatisticsService.class));
+
+    private final Product product = new Product(1L, "CRMPro", "CRM", null);
+
+    @BeforeEach
+    void setUp() {
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(productRepository.findByName(any())).thenReturn(Optional.empty());
+        when(productRepository.save(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void rejectsRenameThatChangesPrefixOfIssuedKeys() {
+        when(licenseRepository.existsNewFormatKeyWithPrefix(1L, "CRMP")).thenReturn(true);
+
+        assertThrows(ConflictException.class, () -> service.updateProduct(1L, new ProductRequest("Vendas", "CRM")));
+        verify(productRepository, never()).save(any(Product.class));
+    }
+
+    @Test
+    void allowsRenameThatKeepsPrefix() {
+        assertEquals("CRM Pro Plus", service.updateProduct(1L, new ProductRequest("CRM Pro Plus", "CRM")).name());
+        verify(licenseRepository, never()).existsNewFormatKeyWithPrefix(any(), any());
+    }
+
+    @Test
+    void allowsAnyRenameWhenNoNewFormatKeysExist() {
+        when(licenseRepository.existsNewFormatKeyWithPrefix(1L, "CRMP")).thenReturn(false);
+
+        assertEquals("Vendas", service.updateProduct(1L, new ProductRequest("Vendas", "CRM")).name());
+    }
+}